@@ -0,0 +1,141 @@
+package hexlet.code;
+
+import hexlet.code.domain.CheckText;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrl;
+import hexlet.code.domain.query.QUrlCheck;
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.Transaction;
+import io.ebean.config.DatabaseConfig;
+import io.ebean.datasource.DataSourceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListingBenchmark {
+    private static final int URLS = 1000;
+    private static final int ROWS_PER_PAGE = 10;
+    private static final int JDBC_BATCH_SIZE = 1000;
+
+    @Param({"100000", "1000000"})
+    private int checks;
+
+    @Param({"0", "50"})
+    private int page;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        final DataSourceConfig dataSource = new DataSourceConfig();
+        dataSource.setUrl("jdbc:h2:mem:listing-" + checks + "-" + page + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+
+        final DatabaseConfig config = new DatabaseConfig();
+        config.setName("listing");
+        config.setDataSourceConfig(dataSource);
+        config.setDdlGenerate(true);
+        config.setDdlRun(true);
+        config.setDefaultServer(true);
+        database = DatabaseFactory.create(config);
+
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<Url> joinedChecksPage() {
+        return new QUrl()
+                .setFirstRow(page * ROWS_PER_PAGE)
+                .setMaxRows(ROWS_PER_PAGE)
+                .orderBy().id.asc()
+                .urlChecks.fetch(QUrlCheck.alias().statusCode, QUrlCheck.alias().createdAt)
+                .orderBy().urlChecks.createdAt.desc()
+                .findPagedList()
+                .getList();
+    }
+
+    @Benchmark
+    public List<Url> denormalizedKeysetPage() {
+        return new QUrl()
+                .select(QUrl.alias().id, QUrl.alias().name, QUrl.alias().lastCheckStatusCode,
+                        QUrl.alias().lastCheckedAt)
+                .id.greaterThan((long) page * ROWS_PER_PAGE)
+                .orderBy().id.asc()
+                .setMaxRows(ROWS_PER_PAGE + 1)
+                .findList();
+    }
+
+    private void seed() throws SQLException {
+        final Timestamp now = Timestamp.from(Instant.now());
+
+        try (Transaction transaction = database.createTransaction()) {
+            final Connection connection = transaction.connection();
+
+            try (PreparedStatement insertUrl = connection.prepareStatement(
+                    "insert into url (name, created_at) values (?, ?)")) {
+                for (int i = 1; i <= URLS; i++) {
+                    insertUrl.setString(1, "https://site-" + i + ".example.com");
+                    insertUrl.setTimestamp(2, now);
+                    insertUrl.addBatch();
+                }
+                insertUrl.executeBatch();
+            }
+
+            final CheckText title = CheckText.of("title");
+            final CheckText h1 = CheckText.of("h1");
+            final CheckText description = CheckText.of("description");
+            database.insertAll(List.of(title, h1, description), transaction);
+            transaction.flush();
+
+            try (PreparedStatement insertCheck = connection.prepareStatement(
+                    "insert into url_check (url_id, status_code, title_text_id, h1_text_id, description_text_id,"
+                            + " unchanged, created_at) values (?, 200, ?, ?, ?, false, ?)")) {
+                for (int i = 0; i < checks; i++) {
+                    insertCheck.setLong(1, i % URLS + 1);
+                    insertCheck.setLong(2, title.getId());
+                    insertCheck.setLong(3, h1.getId());
+                    insertCheck.setLong(4, description.getId());
+                    insertCheck.setTimestamp(5, Timestamp.from(now.toInstant().minusSeconds(i)));
+                    insertCheck.addBatch();
+                    if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                        insertCheck.executeBatch();
+                    }
+                }
+                insertCheck.executeBatch();
+            }
+
+            try (PreparedStatement updateLatest = connection.prepareStatement(
+                    "update url set last_check_status_code = 200,"
+                            + " last_checked_at = (select max(created_at) from url_check where url_id = url.id)")) {
+                updateLatest.executeUpdate();
+            }
+
+            transaction.commit();
+        }
+    }
+}
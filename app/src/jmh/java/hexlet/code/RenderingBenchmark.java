@@ -0,0 +1,53 @@
+package hexlet.code;
+
+import hexlet.code.controllers.PageLink;
+import hexlet.code.domain.Url;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RenderingBenchmark {
+    private static final int ROWS_PER_PAGE = 10;
+    private static final int PAGES = 5;
+
+    private TemplateEngine templateEngine;
+    private Context context;
+
+    @Setup
+    public void setUp() {
+        templateEngine = App.getTemplateEngine();
+
+        final List<Url> urls = IntStream.rangeClosed(1, ROWS_PER_PAGE)
+                .mapToObj(i -> new Url("https://site-" + i + ".example.com"))
+                .toList();
+        final List<PageLink> pages = IntStream.rangeClosed(1, PAGES)
+                .mapToObj(i -> new PageLink(i, "/urls?page=" + i, i == 1))
+                .toList();
+
+        context = new Context();
+        context.setVariable("urls", urls);
+        context.setVariable("pages", pages);
+        context.setVariable("previousPage", null);
+        context.setVariable("nextPage", "/urls?page=2");
+        context.setVariable("session", Map.of());
+    }
+
+    @Benchmark
+    public String renderUrls() {
+        return templateEngine.process("urls.html", context);
+    }
+}
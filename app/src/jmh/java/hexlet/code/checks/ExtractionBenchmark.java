@@ -0,0 +1,66 @@
+package hexlet.code.checks;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExtractionBenchmark {
+    private static final int MAX_BYTES = 1024 * 1024;
+    private static final int BODY_THRESHOLD = 256 * 1024;
+
+    @Param({"fixture", "100000", "5000000"})
+    private String page;
+
+    private byte[] body;
+    private String html;
+    private PageExtractor extractor;
+
+    @Setup
+    public void setUp() throws IOException {
+        html = "fixture".equals(page) ? readFixture() : generatePage(Integer.parseInt(page));
+        body = html.getBytes(StandardCharsets.UTF_8);
+        extractor = new PageExtractor(MAX_BYTES, BODY_THRESHOLD);
+    }
+
+    @Benchmark
+    public PageContent jsoupDocument() {
+        return PageExtractor.extract(Jsoup.parse(new String(body, StandardCharsets.UTF_8)), null);
+    }
+
+    @Benchmark
+    public PageContent streamingExtractor() throws IOException {
+        return extractor.extract(new ByteArrayInputStream(body), "text/html; charset=UTF-8");
+    }
+
+    private static String readFixture() throws IOException {
+        try (InputStream input = ExtractionBenchmark.class.getResourceAsStream("/index.html")) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String generatePage(final int size) {
+        final StringBuilder html = new StringBuilder(size + 256)
+                .append("<html><head><meta name=\"description\" content=\"generated page\">")
+                .append("<title>Generated page</title></head><body><h1>Generated heading</h1>");
+        int paragraph = 0;
+        while (html.length() < size) {
+            html.append("<p>Generated paragraph number ").append(paragraph++).append(" with some text.</p>");
+        }
+        return html.append("</body></html>").toString();
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.controllers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NormalizationBenchmark {
+    @Param({
+        "https://www.example.com",
+        "https://www.example.com:8443/some/deep/path?query=value#fragment",
+        "bad-url"
+    })
+    private String url;
+
+    @Benchmark
+    public String normalize() {
+        return UrlController.getNormalizedUrl(url);
+    }
+}
@@ -1,42 +1,147 @@
 package hexlet.code;
 
+import hexlet.code.checks.CheckExecutor;
+import hexlet.code.checks.CheckRetention;
+import hexlet.code.checks.CheckScheduler;
+import hexlet.code.checks.CheckWriter;
+import hexlet.code.checks.JobSettings;
+import hexlet.code.checks.RetentionSettings;
+import hexlet.code.checks.ScheduleSettings;
+import hexlet.code.checks.WriteSettings;
+import hexlet.code.concurrent.ExecutionMode;
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.concurrent.VirtualThreadPool;
+import hexlet.code.controllers.ApiController;
+import hexlet.code.controllers.CheckController;
+import hexlet.code.controllers.EventController;
+import hexlet.code.controllers.MetricsController;
 import hexlet.code.controllers.RootController;
 import hexlet.code.controllers.UrlController;
+import hexlet.code.db.Databases;
+import hexlet.code.events.CheckEvents;
+import hexlet.code.events.EventSettings;
+import hexlet.code.index.IndexSettings;
+import hexlet.code.index.SearchIndex;
+import hexlet.code.index.UrlNameIndex;
+import hexlet.code.metrics.AppMetrics;
+import hexlet.code.metrics.RequestTimer;
 import io.javalin.Javalin;
 import io.javalin.rendering.template.JavalinThymeleaf;
 import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateEngineException;
 import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static io.javalin.apibuilder.ApiBuilder.get;
 import static io.javalin.apibuilder.ApiBuilder.path;
 import static io.javalin.apibuilder.ApiBuilder.post;
+import static io.javalin.apibuilder.ApiBuilder.sse;
 
 public class App {
-    public static void main(String[] args) {
+    private static final Logger LOGGER = LoggerFactory.getLogger(App.class);
+    private static final String TRAINING_RUN = "--training-run";
+    private static final List<String> TEMPLATES = List.of("index.html", "urls.html", "show.html");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
         Javalin app = getApp();
+        if (Arrays.asList(args).contains(TRAINING_RUN)) {
+            app.start(0);
+            TrainingRun.run(app);
+            // NOTE: архив пишется при выходе из JVM, а фоновые потоки приложения не дают ей завершиться сами.
+            System.exit(0);
+            return;
+        }
         app.start(getPort());
     }
 
     public static Javalin getApp() {
+        final ExecutionMode executionMode = ExecutionMode.fromEnv();
+        final TemplateEngine templateEngine = getTemplateEngine();
         Javalin app = Javalin.create(config -> {
             if (!isProduction()) {
                 config.plugins.enableDevLogging();
             }
+            if (executionMode.isVirtual()) {
+                config.jetty.server(() -> new Server(new VirtualThreadPool()));
+            }
             config.staticFiles.enableWebjars();
-            JavalinThymeleaf.init(getTemplateEngine());
+            JavalinThymeleaf.init(templateEngine);
         });
         addRoutes(app);
         app.before(ctx -> ctx.attribute("ctx", ctx));
+        app.before(RequestTimer.start);
+        app.after(RequestTimer.stop);
+        AppMetrics.register(app);
+        warmUpInBackground(templateEngine);
+        CheckWriter.start(WriteSettings.fromEnv());
+        CheckExecutor.start(getCheckThreads(executionMode), getCheckQueueCapacity(),
+                executionMode.threadFactory("url-check"));
+        CheckScheduler.start(ScheduleSettings.fromEnv(), JobSettings.fromEnv(), executionMode);
+        CheckRetention.start(RetentionSettings.fromEnv());
+        CheckEvents.start(EventSettings.fromEnv(), executionMode);
+        SearchIndex.start(IndexSettings.fromEnv());
+        Databases.open();
+        final AtomicBoolean stopped = new AtomicBoolean();
+        app.events(event -> event.serverStopped(() -> {
+            if (!stopped.compareAndSet(false, true)) {
+                return;
+            }
+            CheckEvents.stop();
+            CheckRetention.stop();
+            CheckScheduler.stop();
+            CheckExecutor.stop();
+            CheckWriter.stop();
+            SearchIndex.stop();
+            SearchIndex.saveSnapshot();
+            Databases.shutdown();
+        }));
         return app;
     }
 
+    // NOTE: индексы и кэш шаблонов только ускоряют работу, поэтому прогреваются
+    // после старта сервера и не задерживают первый запрос.
+    private static void warmUpInBackground(final TemplateEngine templateEngine) {
+        new NamedThreadFactory("warm-up").newThread(() -> {
+            final long start = System.nanoTime();
+            for (String template : TEMPLATES) {
+                try {
+                    templateEngine.process(template, new Context());
+                } catch (TemplateEngineException e) {
+                    LOGGER.debug("Template warmed up without model. [template={}]", template);
+                }
+            }
+            LOGGER.info("Templates warmed up. [elapsedMillis={}]", (System.nanoTime() - start) / 1_000_000);
+
+            UrlNameIndex.warmUp();
+            SearchIndex.rebuild();
+        }).start();
+    }
+
     private static int getPort() {
         String port = System.getenv().getOrDefault("PORT", "8080");
         return Integer.parseInt(port);
     }
 
+    private static int getCheckThreads(final ExecutionMode executionMode) {
+        String threads = System.getenv().getOrDefault("CHECK_THREADS", executionMode.isVirtual() ? "1000" : "4");
+        return Integer.parseInt(threads);
+    }
+
+    private static int getCheckQueueCapacity() {
+        String capacity = System.getenv().getOrDefault("CHECK_QUEUE_CAPACITY", "100");
+        return Integer.parseInt(capacity);
+    }
+
     private static String getMode() {
         return System.getenv().getOrDefault("APP_ENV", "development");
     }
@@ -47,6 +152,7 @@ public class App {
 
     private static void addRoutes(final Javalin app) {
         app.get("/", RootController.welcome);
+        app.get("/metrics", MetricsController.showMetrics);
 
         app.routes(() -> path("urls", () -> {
             get(UrlController.listUrls);
@@ -54,11 +160,32 @@ public class App {
             path("{id}", () -> {
                 get(UrlController.showUrl);
                 post("/checks", UrlController.checkUrl);
+                post("/schedule", UrlController.updateSchedule);
+            });
+        }));
+
+        app.routes(() -> path("api/urls", () -> {
+            get(ApiController.listUrls);
+            post(ApiController.importUrls);
+            // NOTE: маршрут событий регистрируется раньше {id}, иначе "events" будет принят за id.
+            sse("events", EventController.checkEvents);
+            path("{id}", () -> {
+                get(ApiController.showUrl);
+                get("checks", ApiController.listUrlChecks);
+                sse("events", EventController.urlCheckEvents);
+            });
+        }));
+
+        app.routes(() -> path("checks", () -> {
+            path("batch", () -> {
+                get(CheckController.showProgress);
+                post(CheckController.startBatch);
             });
+            get("schedule", CheckController.showSchedule);
         }));
     }
 
-    private static TemplateEngine getTemplateEngine() {
+    static TemplateEngine getTemplateEngine() {
         TemplateEngine templateEngine = new TemplateEngine();
 
         ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
@@ -0,0 +1,15 @@
+package hexlet.code;
+
+import hexlet.code.checks.BatchCrawler;
+import hexlet.code.checks.BatchProgress;
+import hexlet.code.checks.BatchSettings;
+
+public final class BatchCheck {
+    public static void main(String[] args) {
+        final BatchProgress progress = BatchCrawler.run(BatchSettings.fromEnv());
+
+        System.out.printf("Checked %d of %d urls (%d failed) in %d ms, %.2f urls/sec%n",
+                progress.getCompleted(), progress.getTotal(), progress.getFailed(),
+                progress.getElapsedMillis(), progress.getUrlsPerSecond());
+    }
+}
@@ -0,0 +1,66 @@
+package hexlet.code;
+
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.Transaction;
+import io.ebean.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+public final class Migrate {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Migrate.class);
+    private static final String BASELINE_VERSION = System.getenv().getOrDefault("DB_BASELINE_VERSION", "1.0");
+
+    private Migrate() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        // NOTE: базы, созданные через DDL Ebean, не знают о миграциях: схема уже есть, а таблицы db_migration нет.
+        // Для них начальная миграция только отмечается выполненной, остальные применяются как обычно.
+        final DatabaseConfig config = createConfig(true);
+        if (needsBaseline()) {
+            LOGGER.info("Schema was created without migrations, baseline applied. [version={}]", BASELINE_VERSION);
+            config.getProperties().setProperty("ebean.migration.patchInsertOn", BASELINE_VERSION);
+        }
+
+        final Database database = DatabaseFactory.create(config);
+        database.shutdown();
+    }
+
+    private static boolean needsBaseline() throws SQLException {
+        final Database database = DatabaseFactory.create(createConfig(false));
+        try (Transaction transaction = database.createTransaction()) {
+            final DatabaseMetaData metaData = transaction.connection().getMetaData();
+            return hasTable(metaData, "url") && !hasTable(metaData, "db_migration");
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    private static boolean hasTable(final DatabaseMetaData metaData, final String name) throws SQLException {
+        for (String candidate : new String[] {name, name.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet tables = metaData.getTables(null, null, candidate, null)) {
+                if (tables.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static DatabaseConfig createConfig(final boolean runMigration) {
+        final DatabaseConfig config = new DatabaseConfig();
+        config.loadFromProperties();
+        config.setDdlGenerate(false);
+        config.setDdlRun(false);
+        config.setRunMigration(runMigration);
+        config.setRegister(false);
+        config.setDefaultServer(false);
+        return config;
+    }
+}
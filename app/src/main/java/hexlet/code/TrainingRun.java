@@ -0,0 +1,40 @@
+package hexlet.code;
+
+import io.javalin.Javalin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+final class TrainingRun {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingRun.class);
+    private static final List<String> PATHS = List.of("/", "/urls", "/urls/1", "/api/urls", "/metrics");
+
+    private TrainingRun() {
+    }
+
+    // NOTE: прогон нужен для AppCDS-архива: все классы, загруженные до остановки, попадают в архив.
+    static void run(final Javalin app) throws IOException, InterruptedException {
+        final String baseUrl = "http://localhost:" + app.port();
+        final HttpClient client = HttpClient.newHttpClient();
+
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/urls"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("url=https%3A%2F%2Fexample.com"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        for (String path : PATHS) {
+            final HttpResponse<Void> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            LOGGER.info("Training request completed. [path={}, status={}]", path, response.statusCode());
+        }
+
+        app.stop();
+    }
+}
@@ -0,0 +1,129 @@
+package hexlet.code.cache;
+
+import jakarta.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public final class ViewCache<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Function<V, String> etagOf;
+    private final Map<K, Entry<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public record Entry<V>(V view, String etag, long expiresAt) {
+    }
+
+    // NOTE: ETag вычисляется из самого представления, а не из счетчика процесса,
+    // поэтому одинаковые данные дают одинаковый ETag на всех узлах.
+    public ViewCache(final int maxEntries, final long ttlNanos, final Function<V, String> etagOf) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.etagOf = etagOf;
+        this.entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > ViewCache.this.maxEntries;
+            }
+        };
+    }
+
+    public @Nullable Entry<V> get(final K key, final Supplier<V> loader) {
+        return get(key, view -> true, loader);
+    }
+
+    // NOTE: проверка свежести может обращаться к базе, поэтому она выполняется без блокировки кэша.
+    public @Nullable Entry<V> get(final K key, final Predicate<V> fresh, final Supplier<V> loader) {
+        final Entry<V> cached = lookup(key);
+        if (cached != null && fresh.test(cached.view())) {
+            hits.increment();
+            return cached;
+        }
+        if (cached != null) {
+            synchronized (entries) {
+                entries.remove(key, cached);
+            }
+        }
+        misses.increment();
+
+        // NOTE: если во время загрузки кэш был сброшен, загруженное значение может быть устаревшим
+        // и не сохраняется, но текущему запросу все равно отдается.
+        final long loadedGeneration = generation.get();
+        final V view = loader.get();
+        if (view == null) {
+            return null;
+        }
+
+        final Entry<V> entry = new Entry<>(view, etagOf.apply(view), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            if (generation.get() == loadedGeneration) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public void invalidate(final K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateIf(final Predicate<K> predicate) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet().removeIf(predicate);
+        }
+    }
+
+    public void invalidateViews(final Predicate<V> predicate) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> predicate.test(entry.view()));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private @Nullable Entry<V> lookup(final K key) {
+        synchronized (entries) {
+            final Entry<V> entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+}
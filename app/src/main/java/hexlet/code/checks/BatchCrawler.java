@@ -0,0 +1,292 @@
+package hexlet.code.checks;
+
+import hexlet.code.concurrent.ExecutionMode;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QUrl;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class BatchCrawler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchCrawler.class);
+    private static final int DEFERRED_PER_SLOT = 64;
+    private static final AtomicBoolean RUNNING = new AtomicBoolean();
+    private static final AtomicReference<BatchProgress> CURRENT = new AtomicReference<>();
+
+    private BatchCrawler() {
+    }
+
+    public static boolean startAsync(final BatchSettings settings) {
+        if (!RUNNING.compareAndSet(false, true)) {
+            LOGGER.info("Batch check already running.");
+            return false;
+        }
+
+        final Thread thread = new Thread(() -> {
+            try {
+                run(settings);
+            } catch (RuntimeException e) {
+                LOGGER.error("Batch check error.", e);
+            } finally {
+                RUNNING.set(false);
+            }
+        }, "batch-crawler");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public static boolean isRunning() {
+        return RUNNING.get();
+    }
+
+    public static @Nullable BatchProgress getProgress() {
+        return CURRENT.get();
+    }
+
+    public static BatchProgress run(final BatchSettings settings) {
+        return run(settings, new QUrl());
+    }
+
+    static BatchProgress run(final BatchSettings settings, final QUrl urls) {
+        final BatchProgress progress = new BatchProgress(urls.findCount());
+        CURRENT.set(progress);
+
+        LOGGER.info("Batch check started. [total={}, maxInFlight={}, maxPerHost={}, batchSize={}]",
+                progress.getTotal(), settings.maxInFlight(), settings.maxPerHost(), settings.batchSize());
+
+        final ExecutorService pool = Executors.newFixedThreadPool(
+                settings.maxInFlight(), ExecutionMode.fromEnv().threadFactory("batch-check"));
+        final HostDispatcher dispatcher = new HostDispatcher(pool, settings.maxInFlight(), settings.maxPerHost(),
+                settings.maxInFlight() * DEFERRED_PER_SLOT);
+        final CheckBuffer buffer = new CheckBuffer(settings.batchSize(), progress);
+
+        try {
+            urls
+                    .orderBy().id.asc()
+                    .findEach(url -> {
+                        progress.onSubmitted();
+                        dispatcher.submit(getHost(url), () -> crawl(url, buffer, progress));
+                    });
+        } finally {
+            dispatcher.awaitIdle();
+            pool.shutdown();
+            awaitTermination(pool);
+            buffer.flush();
+            progress.finish();
+        }
+
+        LOGGER.info("Batch check completed. [completed={}, failed={}, elapsedMillis={}, urlsPerSecond={}]",
+                progress.getCompleted(), progress.getFailed(), progress.getElapsedMillis(),
+                progress.getUrlsPerSecond());
+        return progress;
+    }
+
+    private static void crawl(final Url url, final CheckBuffer buffer, final BatchProgress progress) {
+        try {
+            final UrlCheck urlCheck = PageChecker.check(url);
+            if (urlCheck.isSkipped()) {
+                progress.onFailed();
+            } else {
+                progress.onCompleted();
+            }
+            buffer.add(urlCheck);
+        } catch (RuntimeException e) {
+            progress.onFailed();
+            LOGGER.error("Batch url verification error. [url={}]", url.getName());
+        }
+    }
+
+    private static String getHost(final Url url) {
+        try {
+            final String host = URI.create(url.getName()).getHost();
+            return host != null ? host : url.getName();
+        } catch (IllegalArgumentException e) {
+            return url.getName();
+        }
+    }
+
+    private static void awaitTermination(final ExecutorService pool) {
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.debug("Waiting for batch check workers.");
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // NOTE: url занятого хоста откладывается в очередь этого хоста и не держит общий слот.
+    // Освободившийся поток сразу берет следующий отложенный url того же хоста, сохраняя оба ограничения,
+    // а чтение url продолжается для других хостов.
+    private static final class HostDispatcher {
+        private final ExecutorService pool;
+        private final Semaphore inFlight;
+        private final int maxPerHost;
+        private final int maxDeferred;
+        private final Map<String, HostQueue> hosts = new HashMap<>();
+        private int deferred;
+        private int pending;
+
+        HostDispatcher(final ExecutorService pool, final int maxInFlight, final int maxPerHost,
+                       final int maxDeferred) {
+            this.pool = pool;
+            this.inFlight = new Semaphore(maxInFlight);
+            this.maxPerHost = maxPerHost;
+            this.maxDeferred = maxDeferred;
+        }
+
+        void submit(final String host, final Runnable task) {
+            synchronized (this) {
+                while (deferred >= maxDeferred) {
+                    awaitChange();
+                }
+                pending++;
+                final HostQueue queue = hosts.computeIfAbsent(host, ignored -> new HostQueue());
+                if (queue.active >= maxPerHost) {
+                    queue.waiting.addLast(task);
+                    deferred++;
+                    return;
+                }
+                queue.active++;
+            }
+            inFlight.acquireUninterruptibly();
+            pool.execute(() -> runHost(host, task));
+        }
+
+        synchronized void awaitIdle() {
+            try {
+                while (pending > 0) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void runHost(final String host, final Runnable first) {
+            Runnable task = first;
+            try {
+                while (task != null) {
+                    try {
+                        task.run();
+                    } finally {
+                        task = next(host);
+                    }
+                }
+            } finally {
+                inFlight.release();
+            }
+        }
+
+        private synchronized @Nullable Runnable next(final String host) {
+            pending--;
+            notifyAll();
+
+            final HostQueue queue = hosts.get(host);
+            final Runnable task = queue.waiting.pollFirst();
+            if (task != null) {
+                deferred--;
+                return task;
+            }
+            queue.active--;
+            if (queue.active == 0) {
+                hosts.remove(host);
+            }
+            return null;
+        }
+
+        private void awaitChange() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Batch check interrupted", e);
+            }
+        }
+    }
+
+    private static final class HostQueue {
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+    }
+
+    private static final class CheckBuffer {
+        private final int batchSize;
+        private final BatchProgress progress;
+        private List<UrlCheck> checks;
+
+        CheckBuffer(final int batchSize, final BatchProgress progress) {
+            this.batchSize = batchSize;
+            this.progress = progress;
+            this.checks = new ArrayList<>(batchSize);
+        }
+
+        void add(final UrlCheck urlCheck) {
+            final List<UrlCheck> full;
+            synchronized (this) {
+                checks.add(urlCheck);
+                if (checks.size() < batchSize) {
+                    return;
+                }
+                full = checks;
+                checks = new ArrayList<>(batchSize);
+            }
+            save(full);
+        }
+
+        void flush() {
+            final List<UrlCheck> rest;
+            synchronized (this) {
+                rest = checks;
+                checks = new ArrayList<>(batchSize);
+            }
+            if (!rest.isEmpty()) {
+                save(rest);
+            }
+        }
+
+        private void save(final List<UrlCheck> batch) {
+            try {
+                CheckStore.saveAll(batch, batchSize);
+                progress.onSaved(batch.size());
+                LOGGER.info("Batch of url checks saved. [size={}]", batch.size());
+            } catch (RuntimeException e) {
+                // NOTE: как и в CheckWriter, пачка сохраняется по одной копиями проверок,
+                // а не записанные проверки считаются неудачными.
+                LOGGER.error("Batch of url checks write error, writing one by one. [size={}]", batch.size(), e);
+                for (UrlCheck urlCheck : batch) {
+                    save(urlCheck.copy());
+                }
+            }
+        }
+
+        private void save(final UrlCheck urlCheck) {
+            try {
+                CheckStore.save(urlCheck);
+                progress.onSaved(1);
+            } catch (RuntimeException e) {
+                if (!urlCheck.isSkipped()) {
+                    progress.onWriteFailed();
+                }
+                LOGGER.error("Batch url check write error. [urlId={}]", urlCheck.getUrl().getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package hexlet.code.checks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class BatchProgress {
+    private final long total;
+    private final long startedAtNanos = System.nanoTime();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder saved = new LongAdder();
+    private volatile long finishedAtNanos;
+
+    public BatchProgress(final long total) {
+        this.total = total;
+    }
+
+    void onSubmitted() {
+        submitted.increment();
+    }
+
+    void onCompleted() {
+        completed.increment();
+    }
+
+    void onFailed() {
+        failed.increment();
+    }
+
+    // NOTE: проверка уже учтена как выполненная, но не записалась в базу.
+    void onWriteFailed() {
+        completed.decrement();
+        failed.increment();
+    }
+
+    void onSaved(final int count) {
+        saved.add(count);
+    }
+
+    void finish() {
+        finishedAtNanos = System.nanoTime();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getSaved() {
+        return saved.sum();
+    }
+
+    public boolean isFinished() {
+        return finishedAtNanos != 0;
+    }
+
+    public long getElapsedMillis() {
+        final long end = isFinished() ? finishedAtNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startedAtNanos);
+    }
+
+    public double getUrlsPerSecond() {
+        final long elapsedMillis = getElapsedMillis();
+        if (elapsedMillis == 0) {
+            return 0;
+        }
+        return (getCompleted() + getFailed()) * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,15 @@
+package hexlet.code.checks;
+
+public record BatchSettings(int maxInFlight, int maxPerHost, int batchSize) {
+    public static BatchSettings fromEnv() {
+        return new BatchSettings(
+                getInt("BATCH_MAX_IN_FLIGHT", "32"),
+                getInt("BATCH_MAX_PER_HOST", "2"),
+                getInt("BATCH_SIZE", "100"));
+    }
+
+    private static int getInt(final String name, final String defaultValue) {
+        String value = System.getenv().getOrDefault(name, defaultValue);
+        return Integer.parseInt(value);
+    }
+}
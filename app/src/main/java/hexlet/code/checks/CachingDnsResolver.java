@@ -0,0 +1,80 @@
+package hexlet.code.checks;
+
+import hexlet.code.metrics.Counter;
+import hexlet.code.metrics.Metrics;
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+final class CachingDnsResolver implements DnsResolver {
+    private static final Counter LOOKUPS = Metrics.counter("fetch_dns_lookups_total",
+            "Host name lookups of page fetches.", "result");
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final DnsResolver delegate;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    private record Entry(InetAddress[] addresses, long expiresAt) {
+    }
+
+    CachingDnsResolver(final DnsResolver delegate, final int maxEntries, final long ttlNanos,
+                       final long negativeTtlNanos, final LongSupplier clock) {
+        this.delegate = delegate;
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(maxEntries, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // NOTE: неудачный поиск тоже кешируется, но на меньший срок, чтобы несуществующий домен
+    // не запрашивался у резолвера при каждой проверке.
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final long now = clock.getAsLong();
+        synchronized (entries) {
+            final Entry entry = entries.get(host);
+            if (entry != null && entry.expiresAt() - now > 0) {
+                if (entry.addresses() == null) {
+                    LOOKUPS.increment("negative");
+                    throw new UnknownHostException(host);
+                }
+                LOOKUPS.increment("hit");
+                return entry.addresses().clone();
+            }
+        }
+
+        LOOKUPS.increment("miss");
+        try {
+            final InetAddress[] addresses = delegate.resolve(host);
+            put(host, new Entry(addresses.clone(), now + ttlNanos));
+            return addresses;
+        } catch (UnknownHostException e) {
+            put(host, new Entry(null, now + negativeTtlNanos));
+            throw e;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void put(final String host, final Entry entry) {
+        synchronized (entries) {
+            entries.put(host, entry);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public final class CheckExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckExecutor.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final Map<Long, CheckStatus> STATUSES = new ConcurrentHashMap<>();
+
+    private static ThreadPoolExecutor executor;
+
+    public enum SubmitResult {
+        QUEUED,
+        ALREADY_PENDING,
+        REJECTED
+    }
+
+    private CheckExecutor() {
+    }
+
+    public static synchronized void start(final int threads, final int queueCapacity,
+                                          final ThreadFactory threadFactory) {
+        if (executor != null) {
+            return;
+        }
+
+        LOGGER.info("Starting check executor. [threads={}, queueCapacity={}]", threads, queueCapacity);
+
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        LOGGER.info("Stopping check executor. [pending={}]", executor.getQueue().size());
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        STATUSES.clear();
+    }
+
+    public static SubmitResult submit(final Url url) {
+        final long id = url.getId();
+
+        if (!markPending(id)) {
+            LOGGER.info("Url verification already pending. [url={}]", url.getName());
+            return SubmitResult.ALREADY_PENDING;
+        }
+
+        try {
+            executor.execute(() -> run(url));
+        } catch (RejectedExecutionException e) {
+            LOGGER.error("Check queue is full, url verification rejected. [url={}]", url.getName());
+            STATUSES.remove(id, CheckStatus.PENDING);
+            return SubmitResult.REJECTED;
+        }
+
+        LOGGER.info("Url verification queued. [url={}]", url.getName());
+        return SubmitResult.QUEUED;
+    }
+
+    public static @Nullable CheckStatus getStatus(final long id) {
+        return STATUSES.get(id);
+    }
+
+    public static int getQueueSize() {
+        final ThreadPoolExecutor current = executor;
+        return current != null ? current.getQueue().size() : 0;
+    }
+
+    public static int getActiveCount() {
+        final ThreadPoolExecutor current = executor;
+        return current != null ? current.getActiveCount() : 0;
+    }
+
+    private static boolean markPending(final long id) {
+        return STATUSES.putIfAbsent(id, CheckStatus.PENDING) == null
+                || STATUSES.replace(id, CheckStatus.FAILED, CheckStatus.PENDING);
+    }
+
+    private static void run(final Url url) {
+        try {
+            final UrlCheck urlCheck = PageChecker.check(url);
+            // NOTE: проверка считается завершенной только после записи в базу, до этого статус остается PENDING.
+            CheckWriter.submit(urlCheck).whenComplete((ignored, e) -> {
+                if (e == null) {
+                    STATUSES.remove(url.getId());
+                    LOGGER.info("Url verification completed. [url={}]", url.getName());
+                } else {
+                    STATUSES.put(url.getId(), CheckStatus.FAILED);
+                    LOGGER.error("Url verification write error. [url={}]", url.getName(), e);
+                }
+            });
+        } catch (RuntimeException e) {
+            STATUSES.put(url.getId(), CheckStatus.FAILED);
+
+            LOGGER.error("Url verification error. [url={}]", url.getName(), e);
+        }
+    }
+}
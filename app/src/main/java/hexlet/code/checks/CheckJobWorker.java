@@ -0,0 +1,195 @@
+package hexlet.code.checks;
+
+import hexlet.code.concurrent.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+final class CheckJobWorker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckJobWorker.class);
+    private static final int HEARTBEATS_PER_LEASE = 3;
+
+    private final String workerId;
+    private final JobSettings settings;
+    private final int concurrency;
+    private final Function<ClaimedJob, CompletableFuture<JobOutcome>> handler;
+    private final Semaphore permits;
+    private final ExecutorService workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompletableFuture<Void>> started = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final ScheduledExecutorService heartbeat;
+    private final Thread poller;
+
+    CheckJobWorker(final String workerId, final JobSettings settings, final int concurrency,
+                   final ThreadFactory threadFactory,
+                   final Function<ClaimedJob, CompletableFuture<JobOutcome>> handler) {
+        this.workerId = workerId;
+        this.settings = settings;
+        this.concurrency = concurrency;
+        this.handler = handler;
+        this.permits = new Semaphore(concurrency);
+        this.workers = Executors.newFixedThreadPool(concurrency, threadFactory);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(
+                new NamedThreadFactory("check-jobs-heartbeat-" + workerId));
+        this.poller = new NamedThreadFactory("check-jobs-" + workerId).newThread(this::poll);
+    }
+
+    void start() {
+        final long heartbeatMillis = getLeaseMillis() / HEARTBEATS_PER_LEASE;
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        poller.start();
+
+        LOGGER.info("Check job worker started. [worker={}, concurrency={}, leaseSeconds={}]",
+                workerId, concurrency, settings.leaseSeconds());
+    }
+
+    // NOTE: начатые проверки дописываются, и задача отпускается только после записи проверки: аренда держится
+    // до этого момента, иначе complete() не найдет задачу и другой узел повторит проверку. Задачи, до которых
+    // очередь не дошла, сразу освобождаются для других узлов, не дожидаясь окончания аренды.
+    void stop() {
+        poller.interrupt();
+        try {
+            poller.join();
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        awaitStarted();
+        heartbeat.shutdownNow();
+        final Set<Long> unfinished = Set.copyOf(started.keySet());
+        final int released = CheckJobs.release(workerId, unfinished);
+
+        LOGGER.info("Check job worker stopped. [worker={}, released={}, unfinished={}]",
+                workerId, released, unfinished.size());
+    }
+
+    int getInFlight() {
+        return inFlight.size();
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getLost() {
+        return lost.sum();
+    }
+
+    private void poll() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                permits.acquire();
+                final int available = 1 + permits.drainPermits();
+                final int slots = Math.min(settings.batchSize(), available);
+                permits.release(available - slots);
+
+                final List<ClaimedJob> jobs = claim(slots);
+                permits.release(slots - jobs.size());
+
+                if (jobs.isEmpty()) {
+                    Thread.sleep(settings.pollMillis());
+                    continue;
+                }
+                for (ClaimedJob job : jobs) {
+                    inFlight.add(job.id());
+                    workers.execute(() -> run(job));
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.info("Check job poller stopped. [worker={}]", workerId);
+        }
+    }
+
+    private List<ClaimedJob> claim(final int slots) {
+        try {
+            return CheckJobs.claim(workerId, slots, getLeaseMillis());
+        } catch (RuntimeException e) {
+            LOGGER.error("Check jobs claim error. [worker={}]", workerId, e);
+            return List.of();
+        }
+    }
+
+    private void run(final ClaimedJob job) {
+        started.put(job.id(), new CompletableFuture<>());
+        CompletableFuture<JobOutcome> outcome;
+        try {
+            outcome = handler.apply(job);
+        } catch (RuntimeException e) {
+            outcome = CompletableFuture.failedFuture(e);
+        }
+        outcome.whenComplete((result, e) -> finish(job, e == null ? result : retryLater(job)));
+    }
+
+    private void finish(final ClaimedJob job, final JobOutcome outcome) {
+        try {
+            final boolean owned = outcome == null
+                    ? CheckJobs.delete(job.id(), workerId)
+                    : CheckJobs.complete(job.id(), workerId, outcome);
+            if (owned) {
+                completed.increment();
+            } else {
+                lost.increment();
+                LOGGER.warn("Check job lease lost before completion. [worker={}, jobId={}]", workerId, job.id());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Check job completion error. [worker={}, jobId={}]", workerId, job.id(), e);
+        } finally {
+            inFlight.remove(job.id());
+            final CompletableFuture<Void> finished = started.remove(job.id());
+            if (finished != null) {
+                finished.complete(null);
+            }
+            permits.release();
+        }
+    }
+
+    private void awaitStarted() {
+        try {
+            CompletableFuture.allOf(started.values().toArray(CompletableFuture[]::new))
+                    .get(getLeaseMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("Check jobs still running at shutdown. [worker={}, running={}]", workerId, started.size());
+        }
+    }
+
+    private JobOutcome retryLater(final ClaimedJob job) {
+        return new JobOutcome(Instant.now().plusMillis(getLeaseMillis()), job.failures() + 1);
+    }
+
+    private void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        try {
+            CheckJobs.heartbeat(workerId, getLeaseMillis());
+        } catch (RuntimeException e) {
+            LOGGER.error("Check jobs heartbeat error. [worker={}]", workerId, e);
+        }
+    }
+
+    private long getLeaseMillis() {
+        return TimeUnit.SECONDS.toMillis(settings.leaseSeconds());
+    }
+}
@@ -0,0 +1,171 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.CheckJob;
+import hexlet.code.domain.Url;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.DuplicateKeyException;
+import io.ebean.SqlQuery;
+import io.ebean.SqlUpdate;
+import io.ebean.Transaction;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class CheckJobs {
+    private static final String SELECT_DUE = "select id, url_id, failures from check_job"
+            + " where due_at <= :now and (locked_until is null or locked_until < :now)"
+            + " order by due_at limit :limit";
+    private static final String SKIP_LOCKED = " for update skip locked";
+    private static final String LOCK_CLAIMED = "update check_job set locked_by = :worker, locked_until = :leaseUntil"
+            + " where id in (:ids)";
+    private static final String LOCK_IF_FREE = "update check_job set locked_by = :worker, locked_until = :leaseUntil"
+            + " where id = :id and due_at <= :now and (locked_until is null or locked_until < :now)";
+    private static final String EXTEND_LEASE = "update check_job set locked_until = :leaseUntil"
+            + " where locked_by = :worker and locked_until >= :now";
+    private static final String COMPLETE = "update check_job"
+            + " set due_at = :dueAt, failures = :failures, locked_by = null, locked_until = null"
+            + " where id = :id and locked_by = :worker";
+    private static final String DELETE = "delete from check_job where id = :id and locked_by = :worker";
+    private static final String RELEASE = "update check_job set locked_by = null, locked_until = null"
+            + " where locked_by = :worker";
+    private static final String EXCEPT_IDS = " and id not in (:ids)";
+    private static final String RESCHEDULE = "update check_job set due_at = :dueAt, failures = 0 where url_id = :urlId";
+
+    private CheckJobs() {
+    }
+
+    public static boolean create(final Url url, final Instant dueAt) {
+        try {
+            DB.getDefault().insert(new CheckJob(url, dueAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // NOTE: задачи создаются одной пачкой. Если часть url за это время получила задачи на другом узле,
+    // пачка откатывается и задачи создаются по одной.
+    public static int createAll(final Collection<CheckJob> jobs) {
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        final Database database = DB.getDefault();
+        try (Transaction transaction = database.createTransaction()) {
+            transaction.setBatchMode(true);
+            transaction.setBatchSize(jobs.size());
+            database.insertAll(jobs, transaction);
+            transaction.commit();
+            return jobs.size();
+        } catch (DuplicateKeyException e) {
+            int created = 0;
+            for (CheckJob job : jobs) {
+                if (create(job.getUrl(), job.getDueAt())) {
+                    created++;
+                }
+            }
+            return created;
+        }
+    }
+
+    public static void reschedule(final long urlId, final Instant dueAt) {
+        DB.getDefault().sqlUpdate(RESCHEDULE)
+                .setParameter("dueAt", dueAt)
+                .setParameter("urlId", urlId)
+                .execute();
+    }
+
+    // NOTE: на postgres строки, занятые другими узлами, пропускаются через skip locked. В h2 такого нет,
+    // поэтому каждая задача захватывается условным update, и выигрывает только один узел.
+    public static List<ClaimedJob> claim(final String workerId, final int limit, final long leaseMillis) {
+        final Database database = DB.getDefault();
+        final Instant now = Instant.now();
+        final Instant leaseUntil = now.plusMillis(leaseMillis);
+
+        if (isSkipLockedSupported(database)) {
+            try (Transaction transaction = database.createTransaction()) {
+                final List<ClaimedJob> jobs = selectDue(database, SELECT_DUE + SKIP_LOCKED, now, limit, transaction);
+                if (!jobs.isEmpty()) {
+                    final SqlUpdate lock = database.sqlUpdate(LOCK_CLAIMED)
+                            .setParameter("worker", workerId)
+                            .setParameter("leaseUntil", leaseUntil)
+                            .setParameter("ids", jobs.stream().map(ClaimedJob::id).toList());
+                    database.execute(lock, transaction);
+                }
+                transaction.commit();
+                return jobs;
+            }
+        }
+
+        final List<ClaimedJob> claimed = new ArrayList<>();
+        for (ClaimedJob job : selectDue(database, SELECT_DUE, now, limit, null)) {
+            final int updated = database.sqlUpdate(LOCK_IF_FREE)
+                    .setParameter("worker", workerId)
+                    .setParameter("leaseUntil", leaseUntil)
+                    .setParameter("id", job.id())
+                    .setParameter("now", now)
+                    .execute();
+            if (updated == 1) {
+                claimed.add(job);
+            }
+        }
+        return claimed;
+    }
+
+    public static int heartbeat(final String workerId, final long leaseMillis) {
+        final Instant now = Instant.now();
+        return DB.getDefault().sqlUpdate(EXTEND_LEASE)
+                .setParameter("leaseUntil", now.plusMillis(leaseMillis))
+                .setParameter("worker", workerId)
+                .setParameter("now", now)
+                .execute();
+    }
+
+    public static boolean complete(final long jobId, final String workerId, final JobOutcome outcome) {
+        return DB.getDefault().sqlUpdate(COMPLETE)
+                .setParameter("dueAt", outcome.nextDueAt())
+                .setParameter("failures", outcome.failures())
+                .setParameter("id", jobId)
+                .setParameter("worker", workerId)
+                .execute() == 1;
+    }
+
+    public static boolean delete(final long jobId, final String workerId) {
+        return DB.getDefault().sqlUpdate(DELETE)
+                .setParameter("id", jobId)
+                .setParameter("worker", workerId)
+                .execute() == 1;
+    }
+
+    public static int release(final String workerId, final Collection<Long> exceptIds) {
+        if (exceptIds.isEmpty()) {
+            return DB.getDefault().sqlUpdate(RELEASE)
+                    .setParameter("worker", workerId)
+                    .execute();
+        }
+        return DB.getDefault().sqlUpdate(RELEASE + EXCEPT_IDS)
+                .setParameter("worker", workerId)
+                .setParameter("ids", exceptIds)
+                .execute();
+    }
+
+    private static List<ClaimedJob> selectDue(final Database database, final String sql, final Instant now,
+                                              final int limit, @Nullable final Transaction transaction) {
+        final SqlQuery query = database.sqlQuery(sql)
+                .setParameter("now", now)
+                .setParameter("limit", limit);
+        if (transaction != null) {
+            query.usingTransaction(transaction);
+        }
+        return query.findList().stream()
+                .map(row -> new ClaimedJob(row.getLong("id"), row.getLong("url_id"), row.getInteger("failures")))
+                .toList();
+    }
+
+    private static boolean isSkipLockedSupported(final Database database) {
+        return database.getPlatform().name().startsWith("POSTGRES");
+    }
+}
@@ -0,0 +1,207 @@
+package hexlet.code.checks;
+
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.controllers.UrlViews;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheckDaily;
+import hexlet.code.domain.query.QUrl;
+import hexlet.code.domain.query.QUrlCheck;
+import hexlet.code.domain.query.QUrlCheckDaily;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.SqlRow;
+import io.ebean.SqlUpdate;
+import io.ebean.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class CheckRetention {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckRetention.class);
+    private static final String SELECT_CHECKED_URLS = "select distinct url_id from url_check"
+            + " where created_at > :since";
+    private static final String SELECT_DAILY = "select cast(created_at as date) as check_date,"
+            + " count(*) as check_count,"
+            + " sum(case when status_code >= 200 and status_code < 400 then 1 else 0 end) as success_count,"
+            + " count(response_time_millis) as timed_count,"
+            + " coalesce(sum(response_time_millis), 0) as response_time_sum,"
+            + " max(response_time_millis) as response_time_max"
+            + " from url_check where url_id = :urlId and id <= :cutoffId"
+            + " group by cast(created_at as date)";
+    private static final String SELECT_OLD_TEXTS = "select title_text_id, h1_text_id, description_text_id"
+            + " from url_check where url_id = :urlId and id <= :cutoffId";
+    private static final String DELETE_OLD_CHECKS = "delete from url_check where url_id = :urlId and id <= :cutoffId";
+    private static final String UPDATE_URL_VERSION = "update url set version = version + 1 where id = :urlId";
+    private static final String DELETE_ORPHAN_TEXTS = "delete from check_text where id in (:ids)"
+            + " and not exists (select 1 from url_check c where c.title_text_id = check_text.id)"
+            + " and not exists (select 1 from url_check c where c.h1_text_id = check_text.id)"
+            + " and not exists (select 1 from url_check c where c.description_text_id = check_text.id)";
+
+    private static final String[] TEXT_COLUMNS = {"title_text_id", "h1_text_id", "description_text_id"};
+    private static final int SWEEP_BATCH_SIZE = 500;
+    // NOTE: проверка получает created_at до фиксации транзакции и по часам своего узла, поэтому каждый
+    // проход заново просматривает окно перед предыдущим запуском, чтобы не пропустить такие записи.
+    private static final Duration SCAN_OVERLAP = Duration.ofMinutes(10);
+
+    private static final AtomicReference<Instant> LAST_RUN_AT = new AtomicReference<>(Instant.EPOCH);
+
+    private static ScheduledExecutorService executor;
+
+    private CheckRetention() {
+    }
+
+    public static synchronized void start(final RetentionSettings settings) {
+        if (!settings.enabled() || executor != null) {
+            return;
+        }
+
+        LOGGER.info("Check retention started. [keepChecks={}, intervalMinutes={}]",
+                settings.keepChecks(), settings.intervalMinutes());
+
+        executor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("check-retention"));
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                run(settings.keepChecks());
+            } catch (RuntimeException e) {
+                LOGGER.error("Check retention error.", e);
+            }
+        }, settings.intervalMinutes(), settings.intervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    public static synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    // NOTE: проверять нужно только url, получившие проверки с прошлого запуска: у остальных
+    // лишних проверок не появилось. Поэтому полный проход по таблице бывает только при первом запуске узла.
+    public static int run(final int keepChecks) {
+        final long start = System.nanoTime();
+        final Instant startedAt = Instant.now();
+        final Instant lastRunAt = LAST_RUN_AT.get();
+        final Instant since = lastRunAt.equals(Instant.EPOCH) ? lastRunAt : lastRunAt.minus(SCAN_OVERLAP);
+
+        final List<Long> urlIds = DB.sqlQuery(SELECT_CHECKED_URLS)
+                .setParameter("since", since)
+                .mapToScalar(Long.class)
+                .findList();
+
+        int removed = 0;
+        final Set<Long> textIds = new HashSet<>();
+        for (Long urlId : urlIds) {
+            removed += compact(urlId, keepChecks, textIds);
+        }
+        LAST_RUN_AT.set(startedAt);
+
+        final int removedTexts = sweepTexts(textIds);
+
+        LOGGER.info("Check retention completed. [urls={}, removed={}, removedTexts={}, elapsedMillis={}]",
+                urlIds.size(), removed, removedTexts, (System.nanoTime() - start) / 1_000_000);
+        return removed;
+    }
+
+    // NOTE: удаляются только тексты удаленных проверок, на которые больше никто не ссылается. Если такой текст
+    // в этот момент подхватила новая проверка, CheckStore повторит запись с новыми текстами.
+    static int sweepTexts(final Collection<Long> textIds) {
+        final List<Long> ids = new ArrayList<>(textIds);
+        int removed = 0;
+        for (int from = 0; from < ids.size(); from += SWEEP_BATCH_SIZE) {
+            removed += DB.sqlUpdate(DELETE_ORPHAN_TEXTS)
+                    .setParameter("ids", ids.subList(from, Math.min(from + SWEEP_BATCH_SIZE, ids.size())))
+                    .execute();
+        }
+        return removed;
+    }
+
+    // NOTE: сжатие может одновременно запуститься на нескольких узлах. Строка url блокируется до конца
+    // транзакции, а граница считается уже под блокировкой, поэтому второй узел увидит сжатые проверки
+    // и не добавит их в дневную статистику повторно.
+    static int compact(final long urlId, final int keepChecks, final Set<Long> textIds) {
+        final Database database = DB.getDefault();
+        final int removed;
+        try (Transaction transaction = database.createTransaction()) {
+            final Url url = new QUrl()
+                    .select(QUrl.alias().id)
+                    .id.equalTo(urlId)
+                    .forUpdate()
+                    .usingTransaction(transaction)
+                    .findOne();
+            if (url == null) {
+                return 0;
+            }
+
+            final Long cutoffId = new QUrlCheck()
+                    .select(QUrlCheck.alias().id)
+                    .url.id.equalTo(urlId)
+                    .orderBy().id.desc()
+                    .setFirstRow(keepChecks)
+                    .setMaxRows(1)
+                    .usingTransaction(transaction)
+                    .findSingleAttribute();
+            if (cutoffId == null) {
+                return 0;
+            }
+
+            final List<SqlRow> rows = database.sqlQuery(SELECT_DAILY)
+                    .setParameter("urlId", urlId)
+                    .setParameter("cutoffId", cutoffId)
+                    .usingTransaction(transaction)
+                    .findList();
+
+            for (SqlRow row : rows) {
+                final LocalDate checkDate = row.getDate("check_date").toLocalDate();
+                UrlCheckDaily daily = new QUrlCheckDaily()
+                        .url.id.equalTo(urlId)
+                        .checkDate.equalTo(checkDate)
+                        .usingTransaction(transaction)
+                        .findOne();
+                if (daily == null) {
+                    daily = new UrlCheckDaily(url, checkDate);
+                }
+                daily.add(row.getInteger("check_count"), row.getInteger("success_count"),
+                        row.getInteger("timed_count"), row.getLong("response_time_sum"),
+                        row.getLong("response_time_max"));
+                database.save(daily, transaction);
+            }
+
+            final List<SqlRow> texts = database.sqlQuery(SELECT_OLD_TEXTS)
+                    .setParameter("urlId", urlId)
+                    .setParameter("cutoffId", cutoffId)
+                    .usingTransaction(transaction)
+                    .findList();
+            for (SqlRow text : texts) {
+                for (String column : TEXT_COLUMNS) {
+                    final Long textId = text.getLong(column);
+                    if (textId != null) {
+                        textIds.add(textId);
+                    }
+                }
+            }
+
+            final SqlUpdate delete = database.sqlUpdate(DELETE_OLD_CHECKS)
+                    .setParameter("urlId", urlId)
+                    .setParameter("cutoffId", cutoffId);
+            removed = database.execute(delete, transaction);
+            database.execute(database.sqlUpdate(UPDATE_URL_VERSION).setParameter("urlId", urlId), transaction);
+            transaction.commit();
+        }
+
+        UrlViews.urlChanged(urlId);
+        return removed;
+    }
+}
@@ -0,0 +1,372 @@
+package hexlet.code.checks;
+
+import hexlet.code.concurrent.ExecutionMode;
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.domain.CheckJob;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QUrl;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class CheckScheduler {
+    public static final int MAX_INTERVAL_MINUTES = (int) TimeUnit.DAYS.toMinutes(365);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckScheduler.class);
+    private static final int MAX_BACKOFF_EXPONENT = 16;
+    private static final int SERVER_ERROR = 500;
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private static final DelayQueue<ScheduledCheck> QUEUE = new DelayQueue<>();
+    private static final Map<Long, Long> GENERATIONS = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_GENERATION = new AtomicLong();
+    private static final AtomicLong LAST_LAG_MILLIS = new AtomicLong();
+    private static final AtomicLong MAX_LAG_MILLIS = new AtomicLong();
+    private static final LongAdder COMPLETED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+
+    private static ScheduleSettings settings;
+    private static Semaphore permits;
+    private static ExecutorService workers;
+    private static Thread dispatcher;
+    private static Thread loader;
+    private static CheckJobWorker worker;
+
+    private CheckScheduler() {
+    }
+
+    public static synchronized void start(final ScheduleSettings scheduleSettings, final JobSettings jobSettings,
+                                          final ExecutionMode executionMode) {
+        if (!scheduleSettings.enabled() || dispatcher != null || worker != null) {
+            return;
+        }
+
+        settings = scheduleSettings;
+        if (jobSettings.enabled()) {
+            startWorker(jobSettings, executionMode);
+            return;
+        }
+
+        permits = new Semaphore(settings.concurrency());
+        workers = Executors.newFixedThreadPool(settings.concurrency(), executionMode.threadFactory("scheduled-check"));
+
+        dispatcher = new Thread(CheckScheduler::dispatch, "check-scheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        loader = new NamedThreadFactory("check-scheduler-load").newThread(CheckScheduler::loadUrls);
+        loader.start();
+
+        LOGGER.info("Check scheduler started. [concurrency={}, intervalMinutes={}]",
+                settings.concurrency(), settings.intervalMinutes());
+    }
+
+    // NOTE: url загружаются в очередь страницами в фоне и не задерживают старт сервера. Url, который
+    // уже поставили в очередь schedule или reschedule, загрузка не трогает.
+    private static void loadUrls() {
+        final long start = System.nanoTime();
+        int loaded = 0;
+        try {
+            long afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                final List<Url> urls = new QUrl()
+                        .select(QUrl.alias().id, QUrl.alias().lastCheckedAt, QUrl.alias().checkIntervalMinutes)
+                        .id.greaterThan(afterId)
+                        .orderBy().id.asc()
+                        .setMaxRows(LOAD_PAGE_SIZE)
+                        .findList();
+                urls.forEach(url -> enqueueIfAbsent(url.getId(), getInitialDueAt(url)));
+                loaded += urls.size();
+                if (urls.size() < LOAD_PAGE_SIZE) {
+                    break;
+                }
+                afterId = urls.get(urls.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Scheduled urls load error. [loaded={}]", loaded, e);
+            return;
+        }
+
+        LOGGER.info("Scheduled urls loaded. [urls={}, elapsedMillis={}]",
+                loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static synchronized void stop() {
+        if (worker != null) {
+            worker.stop();
+            worker = null;
+            return;
+        }
+        if (dispatcher == null) {
+            return;
+        }
+
+        LOGGER.info("Stopping check scheduler. [queueDepth={}]", QUEUE.size());
+
+        loader.interrupt();
+        try {
+            loader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcher.interrupt();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        QUEUE.clear();
+        GENERATIONS.clear();
+        dispatcher = null;
+        loader = null;
+    }
+
+    public static void schedule(final Url url) {
+        if (worker != null) {
+            CheckJobs.create(url, Instant.ofEpochMilli(getInitialDueAt(url)));
+            return;
+        }
+        if (dispatcher == null) {
+            return;
+        }
+        enqueue(url.getId(), getInitialDueAt(url));
+    }
+
+    public static void reschedule(final Url url) {
+        if (worker != null) {
+            CheckJobs.reschedule(url.getId(), Instant.ofEpochMilli(getInitialDueAt(url)));
+            return;
+        }
+        if (dispatcher == null) {
+            return;
+        }
+        final ScheduledCheck current = enqueue(url.getId(), getInitialDueAt(url));
+        QUEUE.removeIf(scheduled -> scheduled.getUrlId() == url.getId() && scheduled != current);
+    }
+
+    public static ScheduleStats getStats() {
+        final Semaphore current = permits;
+        final CheckJobWorker currentWorker = worker;
+        int inFlight = 0;
+        if (currentWorker != null) {
+            inFlight = currentWorker.getInFlight();
+        } else if (current != null) {
+            inFlight = settings.concurrency() - current.availablePermits();
+        }
+        return new ScheduleStats(QUEUE.size(), inFlight, LAST_LAG_MILLIS.get(), MAX_LAG_MILLIS.get(),
+                COMPLETED.sum(), FAILED.sum());
+    }
+
+    // NOTE: при нескольких узлах очередь хранится в таблице check_job, и каждую задачу выполняет
+    // только тот узел, который ее захватил.
+    private static void startWorker(final JobSettings jobSettings, final ExecutionMode executionMode) {
+        final int createdJobs = createMissingJobs();
+
+        final String workerId = System.getenv().getOrDefault("DYNO", "node") + "-"
+                + Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+        worker = new CheckJobWorker(workerId, jobSettings, settings.concurrency(),
+                executionMode.threadFactory("scheduled-check"), CheckScheduler::runJob);
+        worker.start();
+
+        LOGGER.info("Check scheduler started with shared jobs. [createdJobs={}, intervalMinutes={}]",
+                createdJobs, settings.intervalMinutes());
+    }
+
+    // NOTE: срок первой проверки считается с разбросом для каждого url, поэтому задачи создаются не одним
+    // insert ... select, а страницами url без задач, и каждая страница записывается одной пачкой.
+    private static int createMissingJobs() {
+        int created = 0;
+        long afterId = 0;
+        while (true) {
+            final List<Url> urls = new QUrl()
+                    .select(QUrl.alias().id, QUrl.alias().lastCheckedAt, QUrl.alias().checkIntervalMinutes)
+                    .id.greaterThan(afterId)
+                    .raw("not exists (select 1 from check_job j where j.url_id = t0.id)")
+                    .orderBy().id.asc()
+                    .setMaxRows(LOAD_PAGE_SIZE)
+                    .findList();
+            created += CheckJobs.createAll(urls.stream()
+                    .map(url -> new CheckJob(url, Instant.ofEpochMilli(getInitialDueAt(url))))
+                    .toList());
+            if (urls.size() < LOAD_PAGE_SIZE) {
+                return created;
+            }
+            afterId = urls.get(urls.size() - 1).getId();
+        }
+    }
+
+    private static void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                permits.acquire();
+                final ScheduledCheck next = takeNext();
+                final long lag = Math.max(0, System.currentTimeMillis() - next.getDueAtMillis());
+                LAST_LAG_MILLIS.set(lag);
+                MAX_LAG_MILLIS.accumulateAndGet(lag, Math::max);
+
+                workers.execute(() -> {
+                    try {
+                        run(next);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            LOGGER.info("Check scheduler dispatcher stopped.");
+        }
+    }
+
+    private static void run(final ScheduledCheck scheduled) {
+        final Url url = new QUrl().id.equalTo(scheduled.getUrlId()).findOne();
+
+        if (url == null) {
+            LOGGER.info("Scheduled url no longer exists. [id={}]", scheduled.getUrlId());
+            GENERATIONS.remove(scheduled.getUrlId(), scheduled.getGeneration());
+            return;
+        }
+
+        int failures;
+        try {
+            final UrlCheck urlCheck = PageChecker.check(url);
+            CheckWriter.submit(urlCheck);
+            failures = onCompleted(url, urlCheck, scheduled.getFailures());
+        } catch (RuntimeException e) {
+            failures = onFailed(url, scheduled.getFailures());
+        }
+
+        requeue(scheduled, getNextDueAt(url, failures), failures);
+    }
+
+    // NOTE: каждая постановка url в очередь получает новое поколение. Запись старого поколения,
+    // которую вернула выполнявшаяся во время reschedule проверка, выбрасывается, и url не проверяется дважды.
+    static ScheduledCheck enqueue(final long urlId, final long dueAtMillis) {
+        final long generation = NEXT_GENERATION.incrementAndGet();
+        GENERATIONS.put(urlId, generation);
+        final ScheduledCheck scheduled = new ScheduledCheck(urlId, dueAtMillis, 0, generation);
+        QUEUE.add(scheduled);
+        return scheduled;
+    }
+
+    private static void enqueueIfAbsent(final long urlId, final long dueAtMillis) {
+        final long generation = NEXT_GENERATION.incrementAndGet();
+        if (GENERATIONS.putIfAbsent(urlId, generation) == null) {
+            QUEUE.add(new ScheduledCheck(urlId, dueAtMillis, 0, generation));
+        }
+    }
+
+    static void requeue(final ScheduledCheck scheduled, final long dueAtMillis, final int failures) {
+        if (isCurrent(scheduled)) {
+            QUEUE.add(new ScheduledCheck(scheduled.getUrlId(), dueAtMillis, failures, scheduled.getGeneration()));
+        }
+    }
+
+    static ScheduledCheck takeNext() throws InterruptedException {
+        while (true) {
+            final ScheduledCheck next = QUEUE.take();
+            if (isCurrent(next)) {
+                return next;
+            }
+            LOGGER.debug("Superseded scheduled check dropped. [id={}]", next.getUrlId());
+        }
+    }
+
+    private static boolean isCurrent(final ScheduledCheck scheduled) {
+        final Long generation = GENERATIONS.get(scheduled.getUrlId());
+        return generation != null && generation == scheduled.getGeneration();
+    }
+
+    private static CompletableFuture<JobOutcome> runJob(final ClaimedJob job) {
+        final Url url = new QUrl().id.equalTo(job.urlId()).findOne();
+
+        if (url == null) {
+            LOGGER.info("Scheduled url no longer exists. [id={}]", job.urlId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final UrlCheck urlCheck;
+        try {
+            urlCheck = PageChecker.check(url);
+        } catch (RuntimeException e) {
+            final int failures = onFailed(url, job.failures());
+            return CompletableFuture.completedFuture(
+                    new JobOutcome(Instant.ofEpochMilli(getNextDueAt(url, failures)), failures));
+        }
+
+        final int failures = onCompleted(url, urlCheck, job.failures());
+        // NOTE: задача отпускается только после записи проверки, иначе при падении узла проверка потеряется.
+        return CheckWriter.submit(urlCheck)
+                .thenApply(ignored -> new JobOutcome(Instant.ofEpochMilli(getNextDueAt(url, failures)), failures));
+    }
+
+    private static int onCompleted(final Url url, final UrlCheck urlCheck, final int previousFailures) {
+        COMPLETED.increment();
+
+        LOGGER.info("Scheduled url verification completed. [url={}]", url.getName());
+        return urlCheck.isSkipped() || (urlCheck.getStatusCode() != null && urlCheck.getStatusCode() >= SERVER_ERROR)
+                ? previousFailures + 1
+                : 0;
+    }
+
+    private static int onFailed(final Url url, final int previousFailures) {
+        FAILED.increment();
+        final int failures = previousFailures + 1;
+
+        LOGGER.error("Scheduled url verification error. [url={}, failures={}]", url.getName(), failures);
+        return failures;
+    }
+
+    private static long getInitialDueAt(final Url url) {
+        final long intervalMillis = getIntervalMillis(settings, url.getCheckIntervalMinutes());
+        final long now = System.currentTimeMillis();
+
+        if (url.getLastCheckedAt() == null) {
+            return now + (long) (ThreadLocalRandom.current().nextDouble() * settings.jitter() * intervalMillis);
+        }
+        return Math.max(now, url.getLastCheckedAt().toEpochMilli() + intervalMillis)
+                + getJitterMillis(settings.jitter(), intervalMillis);
+    }
+
+    private static long getNextDueAt(final Url url, final int failures) {
+        final long delayMillis = getBackoffMillis(settings,
+                getIntervalMillis(settings, url.getCheckIntervalMinutes()), failures);
+        return System.currentTimeMillis() + delayMillis + getJitterMillis(settings.jitter(), delayMillis);
+    }
+
+    static long getBackoffMillis(final ScheduleSettings scheduleSettings, final long intervalMillis,
+                                 final int failures) {
+        final long maxBackoffMillis = TimeUnit.MINUTES.toMillis(scheduleSettings.maxBackoffMinutes());
+        return failures == 0
+                ? intervalMillis
+                : Math.max(intervalMillis,
+                        Math.min(maxBackoffMillis, intervalMillis << Math.min(failures, MAX_BACKOFF_EXPONENT)));
+    }
+
+    // NOTE: интервал ограничен сверху, чтобы сдвиг при отсрочке и сложение с текущим временем не переполнялись.
+    static long getIntervalMillis(final ScheduleSettings scheduleSettings, @Nullable final Integer minutes) {
+        final int intervalMinutes = minutes != null ? minutes : scheduleSettings.intervalMinutes();
+        return TimeUnit.MINUTES.toMillis(Math.min(Math.max(1, intervalMinutes), MAX_INTERVAL_MINUTES));
+    }
+
+    static long getJitterMillis(final double jitter, final long delayMillis) {
+        final double spread = jitter * delayMillis;
+        return (long) ThreadLocalRandom.current().nextDouble(-spread, spread + 1);
+    }
+}
@@ -0,0 +1,6 @@
+package hexlet.code.checks;
+
+public enum CheckStatus {
+    PENDING,
+    FAILED
+}
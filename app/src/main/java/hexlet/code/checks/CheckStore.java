@@ -0,0 +1,113 @@
+package hexlet.code.checks;
+
+import hexlet.code.controllers.UrlViews;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.events.CheckEvents;
+import hexlet.code.index.SearchIndex;
+import io.ebean.DB;
+import io.ebean.DataIntegrityException;
+import io.ebean.Database;
+import io.ebean.SqlUpdate;
+import io.ebean.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CheckStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckStore.class);
+    // NOTE: версия растет и для проверки, которая пришла позже более новой, и для пропущенной:
+    // они все равно меняют историю на странице сайта, хотя последняя проверка остается прежней.
+    private static final String UPDATE_LATEST_CHECK = "update url set version = version + 1,"
+            + " last_check_status_code = case when last_checked_at is null or last_checked_at <= :checkedAt"
+            + " then :statusCode else last_check_status_code end,"
+            + " last_checked_at = case when last_checked_at is null or last_checked_at <= :checkedAt"
+            + " then :checkedAt else last_checked_at end"
+            + " where id = :id";
+    private static final String UPDATE_URL_VERSION = "update url set version = version + 1 where id = :id";
+
+    private CheckStore() {
+    }
+
+    public static void save(final UrlCheck urlCheck) {
+        final Database database = DB.getDefault();
+        try {
+            insert(database, urlCheck);
+        } catch (DataIntegrityException e) {
+            LOGGER.warn("Check texts removed while saving, retrying. [url={}]", urlCheck.getUrl().getId());
+            insert(database, urlCheck);
+        }
+        UrlViews.urlChanged(urlCheck.getUrl().getId());
+        SearchIndex.indexCheck(urlCheck);
+        CheckEvents.publish(urlCheck);
+    }
+
+    public static void saveAll(final Collection<UrlCheck> urlChecks, final int batchSize) {
+        final Database database = DB.getDefault();
+        try {
+            insertAll(database, urlChecks, batchSize);
+        } catch (DataIntegrityException e) {
+            LOGGER.warn("Check texts removed while saving, retrying. [size={}]", urlChecks.size());
+            insertAll(database, urlChecks, batchSize);
+        }
+        for (UrlCheck urlCheck : urlChecks) {
+            UrlViews.urlChanged(urlCheck.getUrl().getId());
+            SearchIndex.indexCheck(urlCheck);
+            CheckEvents.publish(urlCheck);
+        }
+    }
+
+    // NOTE: очистка хранения может удалить текст, который только что был найден для новой проверки,
+    // тогда вставка падает на внешнем ключе и тексты ищутся заново.
+    private static void insert(final Database database, final UrlCheck urlCheck) {
+        CheckTexts.attach(database, List.of(urlCheck));
+        try (Transaction transaction = database.createTransaction()) {
+            database.insert(urlCheck, transaction);
+            updateLatestCheck(database, urlCheck, transaction);
+            transaction.commit();
+        }
+    }
+
+    private static void insertAll(final Database database, final Collection<UrlCheck> urlChecks,
+                                  final int batchSize) {
+        CheckTexts.attach(database, urlChecks);
+        try (Transaction transaction = database.createTransaction()) {
+            transaction.setBatchMode(true);
+            transaction.setBatchSize(batchSize);
+            database.insertAll(urlChecks, transaction);
+            transaction.flush();
+            for (UrlCheck urlCheck : getLatestChecks(urlChecks)) {
+                updateLatestCheck(database, urlCheck, transaction);
+            }
+            transaction.commit();
+        }
+    }
+
+    // NOTE: в пачке может быть несколько проверок одного сайта, последнюю достаточно записать один раз.
+    private static Collection<UrlCheck> getLatestChecks(final Collection<UrlCheck> urlChecks) {
+        final Map<Long, UrlCheck> latest = new HashMap<>();
+        for (UrlCheck urlCheck : urlChecks) {
+            latest.merge(urlCheck.getUrl().getId(), urlCheck, (current, next) -> {
+                if (current.isSkipped() != next.isSkipped()) {
+                    return current.isSkipped() ? next : current;
+                }
+                return next.getCreatedAt().isBefore(current.getCreatedAt()) ? current : next;
+            });
+        }
+        return latest.values();
+    }
+
+    private static void updateLatestCheck(final Database database, final UrlCheck urlCheck,
+                                          final Transaction transaction) {
+        final SqlUpdate update = urlCheck.isSkipped()
+                ? database.sqlUpdate(UPDATE_URL_VERSION).setParameter("id", urlCheck.getUrl().getId())
+                : database.sqlUpdate(UPDATE_LATEST_CHECK)
+                        .setParameter("statusCode", urlCheck.getStatusCode())
+                        .setParameter("checkedAt", urlCheck.getCreatedAt())
+                        .setParameter("id", urlCheck.getUrl().getId());
+        database.execute(update, transaction);
+    }
+}
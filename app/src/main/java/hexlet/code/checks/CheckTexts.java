@@ -0,0 +1,104 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.CheckText;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QCheckText;
+import io.ebean.Database;
+import io.ebean.DuplicateKeyException;
+import io.ebean.Transaction;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class CheckTexts {
+    private CheckTexts() {
+    }
+
+    // NOTE: значения записываются в отдельной транзакции: они неизменяемы, и повтор ключа с другого узла
+    // не должен откатывать саму запись проверок.
+    public static void attach(final Database database, final Collection<UrlCheck> urlChecks) {
+        final Map<String, CheckText> texts = new HashMap<>();
+        for (UrlCheck urlCheck : urlChecks) {
+            addText(texts, urlCheck.getTitle());
+            addText(texts, urlCheck.getH1());
+            addText(texts, urlCheck.getDescription());
+        }
+        if (texts.isEmpty()) {
+            return;
+        }
+
+        final Map<String, CheckText> stored = findByHash(database, texts.keySet());
+        final List<CheckText> missing = texts.values().stream()
+                .filter(text -> !stored.containsKey(text.getHash()))
+                .toList();
+        stored.putAll(insertAll(database, missing));
+
+        for (UrlCheck urlCheck : urlChecks) {
+            urlCheck.setTexts(getText(stored, urlCheck.getTitle()), getText(stored, urlCheck.getH1()),
+                    getText(stored, urlCheck.getDescription()));
+        }
+    }
+
+    public static Map<Long, CheckText> findAll(final Database database, final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return new QCheckText(database)
+                .id.in(ids)
+                .findList()
+                .stream()
+                .collect(Collectors.toMap(CheckText::getId, text -> text));
+    }
+
+    private static void addText(final Map<String, CheckText> texts, @Nullable final String value) {
+        if (value != null) {
+            final CheckText text = CheckText.of(value);
+            texts.putIfAbsent(text.getHash(), text);
+        }
+    }
+
+    private static @Nullable CheckText getText(final Map<String, CheckText> texts, @Nullable final String value) {
+        return value != null ? texts.get(CheckText.hash(value)) : null;
+    }
+
+    private static Map<String, CheckText> findByHash(final Database database, final Collection<String> hashes) {
+        return new QCheckText(database)
+                .hash.in(hashes)
+                .findList()
+                .stream()
+                .collect(Collectors.toMap(CheckText::getHash, text -> text, (first, second) -> first, HashMap::new));
+    }
+
+    private static Map<String, CheckText> insertAll(final Database database, final List<CheckText> texts) {
+        final Map<String, CheckText> inserted = new HashMap<>();
+        if (texts.isEmpty()) {
+            return inserted;
+        }
+
+        try (Transaction transaction = database.createTransaction()) {
+            database.insertAll(texts, transaction);
+            transaction.commit();
+            texts.forEach(text -> inserted.put(text.getHash(), text));
+            return inserted;
+        } catch (DuplicateKeyException e) {
+            // NOTE: то же значение успели записать параллельно, такие строки берутся из базы по одной.
+            final List<String> existing = new ArrayList<>();
+            for (CheckText text : texts) {
+                final CheckText copy = CheckText.of(text.getValue());
+                try {
+                    database.insert(copy);
+                    inserted.put(copy.getHash(), copy);
+                } catch (DuplicateKeyException duplicate) {
+                    existing.add(copy.getHash());
+                }
+            }
+            inserted.putAll(findByHash(database, existing));
+            return inserted;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package hexlet.code.checks;
+
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.metrics.Histogram;
+import hexlet.code.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class CheckWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckWriter.class);
+    private static final double[] BATCH_SIZE_BUCKETS = {1, 5, 10, 25, 50, 100, 200, 500, 1000};
+    private static final Histogram FLUSH_SECONDS = Metrics.histogram("check_write_flush_duration_seconds",
+            "Latency of url check batch writes.");
+    private static final Histogram BATCH_SIZE = Metrics.histogram("check_write_batch_size",
+            "Url checks written per batch.", BATCH_SIZE_BUCKETS);
+    // NOTE: ReentrantLock вместо synchronized: ожидание места в очереди не закрепляет виртуальный поток за носителем.
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final Condition NOT_FULL = LOCK.newCondition();
+    private static final Condition BATCH_READY = LOCK.newCondition();
+
+    private static List<PendingCheck> pending = new ArrayList<>();
+    private static WriteSettings settings;
+    private static Thread flusher;
+    private static boolean running;
+
+    private record PendingCheck(UrlCheck urlCheck, CompletableFuture<Void> saved) {
+    }
+
+    private CheckWriter() {
+    }
+
+    public static void start(final WriteSettings writeSettings) {
+        LOCK.lock();
+        try {
+            if (running) {
+                return;
+            }
+            settings = writeSettings;
+            running = true;
+            flusher = new NamedThreadFactory("check-writer").newThread(CheckWriter::flushLoop);
+            flusher.start();
+        } finally {
+            LOCK.unlock();
+        }
+
+        LOGGER.info("Check writer started. [batchSize={}, flushIntervalMillis={}]",
+                writeSettings.batchSize(), writeSettings.flushIntervalMillis());
+    }
+
+    // NOTE: поток записи перед завершением сохраняет все накопленные проверки.
+    public static void stop() {
+        final Thread current;
+        LOCK.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            current = flusher;
+            flusher = null;
+            NOT_FULL.signalAll();
+            BATCH_READY.signalAll();
+        } finally {
+            LOCK.unlock();
+        }
+
+        try {
+            current.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        LOGGER.info("Check writer stopped.");
+    }
+
+    public static CompletableFuture<Void> submit(final UrlCheck urlCheck) {
+        LOCK.lock();
+        try {
+            while (running && pending.size() >= settings.maxPending()) {
+                try {
+                    NOT_FULL.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (running) {
+                final PendingCheck check = new PendingCheck(urlCheck, new CompletableFuture<>());
+                pending.add(check);
+                if (pending.size() >= settings.batchSize()) {
+                    BATCH_READY.signal();
+                }
+                return check.saved();
+            }
+        } finally {
+            LOCK.unlock();
+        }
+
+        return save(urlCheck);
+    }
+
+    public static int getPendingCount() {
+        LOCK.lock();
+        try {
+            return pending.size();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void flushLoop() {
+        while (true) {
+            final List<PendingCheck> batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    private static List<PendingCheck> takeBatch() {
+        LOCK.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(settings.flushIntervalMillis());
+            while (running && pending.size() < settings.batchSize() && remaining > 0) {
+                try {
+                    remaining = BATCH_READY.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+
+            if (pending.isEmpty()) {
+                return running ? List.of() : null;
+            }
+
+            final List<PendingCheck> batch;
+            if (pending.size() <= settings.batchSize()) {
+                batch = pending;
+                pending = new ArrayList<>();
+            } else {
+                final List<PendingCheck> head = pending.subList(0, settings.batchSize());
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            NOT_FULL.signalAll();
+            return batch;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void flush(final List<PendingCheck> batch) {
+        final long start = System.nanoTime();
+        final List<UrlCheck> urlChecks = batch.stream().map(PendingCheck::urlCheck).toList();
+
+        try {
+            CheckStore.saveAll(urlChecks, batch.size());
+            batch.forEach(check -> check.saved().complete(null));
+        } catch (RuntimeException e) {
+            // NOTE: одна ошибочная проверка не должна терять остальные, поэтому пачка сохраняется по одной.
+            // Сохраняются копии: неудачный saveAll мог уже выдать проверкам id и привязать тексты.
+            LOGGER.error("Url checks batch write error, writing one by one. [size={}]", batch.size(), e);
+            for (PendingCheck check : batch) {
+                save(check.urlCheck().copy()).whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        check.saved().complete(null);
+                    } else {
+                        check.saved().completeExceptionally(error);
+                    }
+                });
+            }
+        }
+
+        FLUSH_SECONDS.observeNanos(System.nanoTime() - start);
+        BATCH_SIZE.observe(batch.size());
+        LOGGER.debug("Url checks written. [size={}, elapsedMillis={}]",
+                batch.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static CompletableFuture<Void> save(final UrlCheck urlCheck) {
+        try {
+            CheckStore.save(urlCheck);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            LOGGER.error("Url check write error. [urlId={}]", urlCheck.getUrl().getId(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
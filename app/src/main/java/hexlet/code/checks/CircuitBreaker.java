@@ -0,0 +1,116 @@
+package hexlet.code.checks;
+
+import java.util.function.LongSupplier;
+
+public final class CircuitBreaker {
+    private final int failureThreshold;
+    private final long failureWindowNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long lastFailureAt;
+    private long openedAt;
+    private boolean probing;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    enum Permit {
+        DENIED,
+        GRANTED,
+        PROBE
+    }
+
+    CircuitBreaker(final int failureThreshold, final long failureWindowNanos, final long openNanos,
+                   final LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.failureWindowNanos = failureWindowNanos;
+        this.openNanos = openNanos;
+        this.clock = clock;
+    }
+
+    synchronized boolean tryAcquire() {
+        return acquire() != Permit.DENIED;
+    }
+
+    // NOTE: после паузы пропускается один пробный запрос, остальные отклоняются, пока он не завершится.
+    synchronized Permit acquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return Permit.DENIED;
+            }
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                return Permit.DENIED;
+            }
+            probing = true;
+            return Permit.PROBE;
+        }
+        return Permit.GRANTED;
+    }
+
+    synchronized boolean onSuccess() {
+        final boolean recovered = state != State.CLOSED;
+        state = State.CLOSED;
+        failures = 0;
+        probing = false;
+        return recovered;
+    }
+
+    synchronized boolean onFailure() {
+        final long now = clock.getAsLong();
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return true;
+        }
+        if (state == State.OPEN) {
+            return false;
+        }
+
+        if (failures > 0 && now - lastFailureAt > failureWindowNanos) {
+            failures = 0;
+        }
+        failures++;
+        lastFailureAt = now;
+        if (failures >= failureThreshold) {
+            open(now);
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean isIdle() {
+        return state == State.CLOSED && failures == 0;
+    }
+
+    // NOTE: открытый автомат, который никто не пробовал еще одно окно после паузы, и старые ошибки
+    // закрытого автомата больше ничего не решают, такой автомат можно выбросить.
+    synchronized boolean isExpired() {
+        final long now = clock.getAsLong();
+        if (state == State.OPEN) {
+            return now - openedAt >= openNanos + failureWindowNanos;
+        }
+        return state == State.CLOSED && (failures == 0 || now - lastFailureAt > failureWindowNanos);
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void open(final long now) {
+        state = State.OPEN;
+        openedAt = now;
+        probing = false;
+    }
+}
@@ -0,0 +1,9 @@
+package hexlet.code.checks;
+
+import kong.unirest.UnirestException;
+
+public final class CircuitOpenException extends UnirestException {
+    public CircuitOpenException(final String host) {
+        super("Host is unavailable, circuit is open. [host=" + host + "]");
+    }
+}
@@ -0,0 +1,4 @@
+package hexlet.code.checks;
+
+public record ClaimedJob(long id, long urlId, int failures) {
+}
@@ -0,0 +1,311 @@
+package hexlet.code.checks;
+
+import hexlet.code.metrics.Counter;
+import hexlet.code.metrics.Metrics;
+import jakarta.annotation.Nullable;
+import kong.unirest.GetRequest;
+import kong.unirest.HttpResponse;
+import kong.unirest.RawResponse;
+import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
+import kong.unirest.UnirestInstance;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.EofSensorInputStream;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public final class FetchClient implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FetchClient.class);
+    private static final String USER_AGENT = "page-analyzer";
+    private static final Set<Integer> REDIRECT_STATUSES = Set.of(301, 302, 303, 307, 308);
+    private static final int SERVER_ERROR = 500;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final Counter CIRCUIT_REJECTIONS = Metrics.counter("fetch_circuit_rejections_total",
+            "Page fetches rejected without a request because the host circuit is open.", "host");
+    private static final Counter CIRCUIT_TRANSITIONS = Metrics.counter("fetch_circuit_transitions_total",
+            "Host circuit state changes.", "state");
+
+    private final FetchSettings settings;
+    private final HostSettings hostSettings;
+    private final CachingDnsResolver dnsResolver;
+    private final PoolingHttpClientConnectionManager manager;
+    private final UnirestInstance unirest;
+    private final Map<String, CircuitBreaker> circuits;
+
+    @FunctionalInterface
+    public interface BodyParser<T> {
+        T parse(RawResponse raw, InputStream body) throws IOException;
+    }
+
+    public FetchClient(final FetchSettings settings, final HostSettings hostSettings) {
+        this.settings = settings;
+        this.hostSettings = hostSettings;
+        this.circuits = new LinkedHashMap<>(hostSettings.circuitCacheSize(), LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CircuitBreaker> eldest) {
+                return size() > hostSettings.circuitCacheSize();
+            }
+        };
+
+        dnsResolver = new CachingDnsResolver(SystemDefaultDnsResolver.INSTANCE, hostSettings.dnsCacheSize(),
+                TimeUnit.SECONDS.toNanos(hostSettings.dnsTtlSeconds()),
+                TimeUnit.SECONDS.toNanos(hostSettings.dnsNegativeTtlSeconds()), System::nanoTime);
+        final Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+        manager = new PoolingHttpClientConnectionManager(socketFactories, null, null, dnsResolver,
+                settings.keepAliveSeconds(), TimeUnit.SECONDS);
+        manager.setMaxTotal(settings.maxConnections());
+        manager.setDefaultMaxPerRoute(settings.maxConnectionsPerHost());
+
+        final long keepAliveMillis = TimeUnit.SECONDS.toMillis(settings.keepAliveSeconds());
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(settings.connectTimeoutMillis())
+                .setSocketTimeout(settings.socketTimeoutMillis())
+                .setConnectionRequestTimeout(settings.connectTimeoutMillis())
+                .build();
+
+        // NOTE: редиректы обрабатываются вручную в get(), чтобы ограничение их числа
+        // не перекрывалось конфигурацией запроса, которую собирает Unirest.
+        unirest = Unirest.spawnInstance();
+        unirest.config()
+                .connectTimeout(settings.connectTimeoutMillis())
+                .socketTimeout(settings.socketTimeoutMillis())
+                .setDefaultHeader("User-Agent", USER_AGENT)
+                .httpClient(HttpClients.custom()
+                        .setConnectionManager(manager)
+                        .setDefaultRequestConfig(requestConfig)
+                        .setKeepAliveStrategy((response, context) -> {
+                            final long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                    .getKeepAliveDuration(response, context);
+                            return duration > 0 ? Math.min(duration, keepAliveMillis) : keepAliveMillis;
+                        })
+                        .evictExpiredConnections()
+                        .evictIdleConnections(settings.keepAliveSeconds(), TimeUnit.SECONDS)
+                        .disableRedirectHandling()
+                        .disableAutomaticRetries()
+                        .build());
+    }
+
+    public static FetchClient getShared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public <T> HttpResponse<T> get(final String url, final Map<String, String> headers, final BodyParser<T> parser)
+            throws UnirestException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.totalTimeoutMillis());
+        String location = url;
+        int redirects = 0;
+
+        while (true) {
+            final String host = getHost(location);
+            final CircuitBreaker circuit = getCircuit(host);
+            final CircuitBreaker.Permit permit = circuit != null
+                    ? circuit.acquire()
+                    : CircuitBreaker.Permit.GRANTED;
+            if (permit == CircuitBreaker.Permit.DENIED) {
+                CIRCUIT_REJECTIONS.increment(host);
+                throw new CircuitOpenException(host);
+            }
+            if (permit == CircuitBreaker.Permit.PROBE) {
+                CIRCUIT_TRANSITIONS.increment(CircuitBreaker.State.HALF_OPEN.name());
+                LOGGER.info("Host circuit half-open, sending a trial fetch. [host={}]", host);
+            }
+
+            final GetRequest request = unirest.get(location).headers(headers);
+            final HttpResponse<T> response;
+            try {
+                response = request.asObject(raw -> isRedirect(raw.getStatus())
+                        ? null
+                        : parse(raw, parser, deadline));
+            } catch (UnirestException e) {
+                onFailure(host);
+                throw e;
+            } catch (RuntimeException e) {
+                onSuccess(host, circuit);
+                throw e;
+            }
+            // NOTE: ответ 5xx значит, что сайт отвечает, но не работает, поэтому он тоже считается ошибкой.
+            if (response.getStatus() >= SERVER_ERROR) {
+                onFailure(host);
+            } else {
+                onSuccess(host, circuit);
+            }
+
+            final String next = response.getHeaders().getFirst("Location");
+            if (!isRedirect(response.getStatus()) || next == null || next.isBlank()) {
+                return response;
+            }
+            if (redirects++ >= settings.maxRedirects()) {
+                throw new UnirestException("Too many redirects. [url=" + url + "]");
+            }
+
+            location = URI.create(location).resolve(next).toString();
+            LOGGER.info("Following redirect. [url={}, location={}]", url, location);
+        }
+    }
+
+    public PoolStats getPoolStats() {
+        return manager.getTotalStats();
+    }
+
+    public CircuitBreaker.State getCircuitState(final String url) {
+        final CircuitBreaker circuit = getCircuit(getHost(url));
+        return circuit != null ? circuit.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    public long getOpenCircuitCount() {
+        synchronized (circuits) {
+            circuits.values().removeIf(CircuitBreaker::isExpired);
+            return circuits.values().stream()
+                    .filter(circuit -> circuit.getState() != CircuitBreaker.State.CLOSED)
+                    .count();
+        }
+    }
+
+    public int getDnsCacheSize() {
+        return dnsResolver.size();
+    }
+
+    @Override
+    public void close() {
+        unirest.shutDown();
+    }
+
+    // NOTE: автомат заводится только после первой ошибки и удаляется после успешного ответа или когда
+    // устаревает, а число хостов ограничено LRU, поэтому в памяти держатся лишь хосты с недавними ошибками.
+    // Все изменения карты идут под ее блокировкой, и ошибка всегда попадает в автомат, который лежит в карте.
+    private @Nullable CircuitBreaker getCircuit(final String host) {
+        synchronized (circuits) {
+            final CircuitBreaker circuit = circuits.get(host);
+            if (circuit != null && circuit.isExpired()) {
+                circuits.remove(host);
+                return null;
+            }
+            return circuit;
+        }
+    }
+
+    private void onFailure(final String host) {
+        final boolean opened;
+        synchronized (circuits) {
+            opened = circuits.computeIfAbsent(host, key -> new CircuitBreaker(hostSettings.circuitFailures(),
+                    TimeUnit.SECONDS.toNanos(hostSettings.circuitWindowSeconds()),
+                    TimeUnit.SECONDS.toNanos(hostSettings.circuitOpenSeconds()), System::nanoTime)).onFailure();
+        }
+        if (opened) {
+            CIRCUIT_TRANSITIONS.increment(CircuitBreaker.State.OPEN.name());
+            LOGGER.warn("Host circuit opened, fetches are paused. [host={}, openSeconds={}]",
+                    host, hostSettings.circuitOpenSeconds());
+        }
+    }
+
+    private void onSuccess(final String host, @Nullable final CircuitBreaker circuit) {
+        if (circuit == null) {
+            return;
+        }
+        if (circuit.onSuccess()) {
+            CIRCUIT_TRANSITIONS.increment(CircuitBreaker.State.CLOSED.name());
+            LOGGER.info("Host circuit closed. [host={}]", host);
+        }
+        synchronized (circuits) {
+            if (circuit.isIdle()) {
+                circuits.remove(host, circuit);
+            }
+        }
+    }
+
+    private static String getHost(final String url) {
+        try {
+            final String authority = URI.create(url).getRawAuthority();
+            return authority != null ? authority : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static boolean isRedirect(final int status) {
+        return REDIRECT_STATUSES.contains(status);
+    }
+
+    private static <T> T parse(final RawResponse raw, final BodyParser<T> parser, final long deadline) {
+        final InputStream content = raw.getContent();
+        final DeadlineInputStream body = new DeadlineInputStream(content, deadline);
+        try {
+            return parser.parse(raw, body);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        } finally {
+            // NOTE: недочитанное тело не дочитывается ради keep-alive, соединение просто закрывается.
+            if (!body.isFinished() && content instanceof EofSensorInputStream sensor) {
+                try {
+                    sensor.abortConnection();
+                } catch (IOException e) {
+                    LOGGER.debug("Connection abort failed.", e);
+                }
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final FetchClient INSTANCE = new FetchClient(FetchSettings.fromEnv(), HostSettings.fromEnv());
+    }
+
+    private static final class DeadlineInputStream extends FilterInputStream {
+        private final long deadline;
+        private boolean finished;
+
+        DeadlineInputStream(final InputStream in, final long deadline) {
+            super(in);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            final int value = super.read();
+            finished = value == -1;
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            checkDeadline();
+            final int count = super.read(b, off, len);
+            finished = count == -1;
+            return count;
+        }
+
+        boolean isFinished() {
+            return finished;
+        }
+
+        private void checkDeadline() throws SocketTimeoutException {
+            if (System.nanoTime() - deadline > 0) {
+                throw new SocketTimeoutException("Fetch deadline exceeded");
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hexlet.code.checks;
+
+public record FetchSettings(int connectTimeoutMillis, int socketTimeoutMillis, int totalTimeoutMillis,
+                            int maxConnections, int maxConnectionsPerHost, int keepAliveSeconds,
+                            int maxRedirects) {
+    public static FetchSettings fromEnv() {
+        return new FetchSettings(
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_CONNECT_TIMEOUT_MILLIS", "5000")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_SOCKET_TIMEOUT_MILLIS", "10000")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_TOTAL_TIMEOUT_MILLIS", "30000")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_MAX_CONNECTIONS", "200")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_MAX_CONNECTIONS_PER_HOST", "4")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_KEEP_ALIVE_SECONDS", "30")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_MAX_REDIRECTS", "5")));
+    }
+}
@@ -0,0 +1,16 @@
+package hexlet.code.checks;
+
+public record HostSettings(int dnsCacheSize, int dnsTtlSeconds, int dnsNegativeTtlSeconds,
+                           int circuitFailures, int circuitWindowSeconds, int circuitOpenSeconds,
+                           int circuitCacheSize) {
+    public static HostSettings fromEnv() {
+        return new HostSettings(
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_DNS_CACHE_SIZE", "10000")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_DNS_TTL_SECONDS", "300")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_DNS_NEGATIVE_TTL_SECONDS", "30")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_CIRCUIT_FAILURES", "5")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_CIRCUIT_WINDOW_SECONDS", "300")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_CIRCUIT_OPEN_SECONDS", "60")),
+                Integer.parseInt(System.getenv().getOrDefault("FETCH_CIRCUIT_CACHE_SIZE", "10000")));
+    }
+}
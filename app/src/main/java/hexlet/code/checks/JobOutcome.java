@@ -0,0 +1,6 @@
+package hexlet.code.checks;
+
+import java.time.Instant;
+
+public record JobOutcome(Instant nextDueAt, int failures) {
+}
@@ -0,0 +1,11 @@
+package hexlet.code.checks;
+
+public record JobSettings(boolean enabled, int batchSize, int leaseSeconds, int pollMillis) {
+    public static JobSettings fromEnv() {
+        return new JobSettings(
+                Boolean.parseBoolean(System.getenv().getOrDefault("CHECK_JOBS_ENABLED", "false")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_JOBS_BATCH_SIZE", "10")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_JOBS_LEASE_SECONDS", "60")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_JOBS_POLL_MILLIS", "1000")));
+    }
+}
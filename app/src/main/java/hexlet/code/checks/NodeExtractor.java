@@ -0,0 +1,14 @@
+package hexlet.code.checks;
+
+import org.jsoup.nodes.Node;
+
+// NOTE: реализации регистрируются в META-INF/services и создаются заново для каждой страницы,
+// поэтому могут хранить состояние между вызовами head/tail.
+public interface NodeExtractor {
+    void head(Node node);
+
+    default void tail(Node node) {
+    }
+
+    void finish(PageFacts facts);
+}
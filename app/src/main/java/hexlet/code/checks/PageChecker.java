@@ -0,0 +1,161 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QUrlCheck;
+import hexlet.code.metrics.Metrics;
+import jakarta.annotation.Nullable;
+import kong.unirest.Headers;
+import kong.unirest.HttpResponse;
+import kong.unirest.HttpStatus;
+import kong.unirest.UnirestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public final class PageChecker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageChecker.class);
+    private static final PageExtractor EXTRACTOR = PageExtractor.fromEnv();
+    private static final int REDIRECTION = 300;
+    private static final String SKIPPED_CIRCUIT_OPEN = "circuit_open";
+
+    private PageChecker() {
+    }
+
+    public static UrlCheck check(final Url url) throws UnirestException {
+        final UrlCheck previous = getLatestCheck(url);
+        final boolean conditional = previous != null && isSuccessful(previous.getStatusCode());
+        final String knownHash = conditional ? previous.getContentHash() : null;
+
+        LOGGER.info("Loading page by url for verification. [url={}, conditional={}]", url.getName(), conditional);
+
+        final Map<String, String> headers = new HashMap<>();
+        if (conditional && previous.getEtag() != null) {
+            headers.put("If-None-Match", previous.getEtag());
+        }
+        if (conditional && previous.getLastModified() != null) {
+            headers.put("If-Modified-Since", previous.getLastModified());
+        }
+
+        final long startedAt = System.nanoTime();
+        final HttpResponse<PageContent> response;
+        try {
+            response = FetchClient.getShared().get(url.getName(), headers, (raw, body) -> {
+                if (raw.getStatus() == HttpStatus.NOT_MODIFIED) {
+                    return PageContent.ofUnchanged(knownHash);
+                }
+
+                LOGGER.info("Parsing page. [url={}]", url.getName());
+                return EXTRACTOR.extract(body, raw.getHeaders().getFirst("Content-Type"), knownHash, url.getName());
+            });
+        } catch (CircuitOpenException e) {
+            Metrics.FETCHES.observeNanos(System.nanoTime() - startedAt, getHost(url), "circuit_open");
+            LOGGER.info("Host is unavailable, verification skipped. [url={}]", url.getName());
+
+            final UrlCheck skipped = new UrlCheck(null, null, null, null, url);
+            skipped.setSkipReason(SKIPPED_CIRCUIT_OPEN);
+            return skipped;
+        } catch (UnirestException e) {
+            Metrics.FETCHES.observeNanos(System.nanoTime() - startedAt, getHost(url), "error");
+            throw e;
+        }
+        final long elapsedNanos = System.nanoTime() - startedAt;
+        Metrics.FETCHES.observeNanos(elapsedNanos, getHost(url), Integer.toString(response.getStatus()));
+
+        if (response.getParsingError().isPresent()) {
+            throw response.getParsingError().get();
+        }
+
+        final PageContent content = response.getBody();
+        final UrlCheck urlCheck;
+
+        if (content.unchanged() && previous != null) {
+            LOGGER.info("Page not changed since last verification. [url={}]", url.getName());
+
+            urlCheck = new UrlCheck(response.getStatus(), previous.getTitle(), previous.getH1(),
+                    previous.getDescription(), url);
+            urlCheck.setUnchanged(true);
+            copyFacts(previous, urlCheck);
+        } else {
+            urlCheck = new UrlCheck(response.getStatus(), content.title(), content.h1(), content.description(), url);
+            setFacts(urlCheck, content.facts(), getContentLength(response.getHeaders(), content.facts()));
+        }
+        urlCheck.setResponseTimeMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+        final Headers responseHeaders = response.getHeaders();
+        final UrlCheck fallback = urlCheck.isUnchanged() ? previous : null;
+        urlCheck.setEtag(getHeader(responseHeaders, "ETag", fallback != null ? fallback.getEtag() : null));
+        urlCheck.setLastModified(getHeader(responseHeaders, "Last-Modified",
+                fallback != null ? fallback.getLastModified() : null));
+        urlCheck.setContentHash(content.contentHash());
+        return urlCheck;
+    }
+
+    private static void setFacts(final UrlCheck urlCheck, final PageFacts facts, final long contentLength) {
+        urlCheck.setCanonical(facts.getCanonical());
+        urlCheck.setRobots(facts.getRobots());
+        urlCheck.setOgTitle(facts.getOgTitle());
+        urlCheck.setOgDescription(facts.getOgDescription());
+        urlCheck.setOgImage(facts.getOgImage());
+        urlCheck.setH1Count(facts.getH1Count());
+        urlCheck.setInternalLinks(facts.getInternalLinks());
+        urlCheck.setExternalLinks(facts.getExternalLinks());
+        urlCheck.setWordCount(facts.getWordCount());
+        urlCheck.setContentLength(contentLength);
+    }
+
+    private static void copyFacts(final UrlCheck from, final UrlCheck to) {
+        to.setCanonical(from.getCanonical());
+        to.setRobots(from.getRobots());
+        to.setOgTitle(from.getOgTitle());
+        to.setOgDescription(from.getOgDescription());
+        to.setOgImage(from.getOgImage());
+        to.setH1Count(from.getH1Count());
+        to.setInternalLinks(from.getInternalLinks());
+        to.setExternalLinks(from.getExternalLinks());
+        to.setWordCount(from.getWordCount());
+        to.setContentLength(from.getContentLength());
+    }
+
+    // NOTE: тело читается не целиком, поэтому без Content-Length размер известен только снизу.
+    private static long getContentLength(final Headers headers, final PageFacts facts) {
+        try {
+            return Long.parseLong(headers.getFirst("Content-Length"));
+        } catch (NumberFormatException e) {
+            return facts.getBytesRead();
+        }
+    }
+
+    private static @Nullable UrlCheck getLatestCheck(final Url url) {
+        return new QUrlCheck()
+                .url.equalTo(url)
+                .skipReason.isNull()
+                .orderBy().id.desc()
+                .setMaxRows(1)
+                .findOne();
+    }
+
+    private static String getHost(final Url url) {
+        try {
+            final String host = URI.create(url.getName()).getHost();
+            return host != null ? host : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+
+    private static boolean isSuccessful(@Nullable final Integer statusCode) {
+        return statusCode != null
+                && ((statusCode >= HttpStatus.OK && statusCode < REDIRECTION) || statusCode == HttpStatus.NOT_MODIFIED);
+    }
+
+    private static @Nullable String getHeader(final Headers headers, final String name,
+                                              @Nullable final String fallback) {
+        final String value = headers.getFirst(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,19 @@
+package hexlet.code.checks;
+
+public record PageContent(PageFacts facts, String contentHash, boolean unchanged) {
+    public static PageContent ofUnchanged(final String contentHash) {
+        return new PageContent(new PageFacts(), contentHash, true);
+    }
+
+    public String title() {
+        return facts.getTitle();
+    }
+
+    public String h1() {
+        return facts.getH1();
+    }
+
+    public String description() {
+        return facts.getDescription();
+    }
+}
@@ -0,0 +1,255 @@
+package hexlet.code.checks;
+
+import jakarta.annotation.Nullable;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class PageExtractor {
+    private static final int SNIFF_BYTES = 1024;
+    private static final int BUFFER_CHARS = 8192;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final Pattern CHARSET = Pattern.compile(
+            "charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final String BODY_START = "<body";
+    private static final List<ServiceLoader.Provider<NodeExtractor>> EXTRACTORS = ServiceLoader
+            .load(NodeExtractor.class)
+            .stream()
+            .toList();
+
+    private final int maxBytes;
+    private final int bodyThreshold;
+
+    public PageExtractor(final int maxBytes, final int bodyThreshold) {
+        this.maxBytes = maxBytes;
+        this.bodyThreshold = bodyThreshold;
+    }
+
+    public static PageExtractor fromEnv() {
+        String maxBytes = System.getenv().getOrDefault("EXTRACT_MAX_BYTES", "1048576");
+        String bodyThreshold = System.getenv().getOrDefault("EXTRACT_BODY_THRESHOLD", "262144");
+        return new PageExtractor(Integer.parseInt(maxBytes), Integer.parseInt(bodyThreshold));
+    }
+
+    public PageContent extract(final InputStream body, @Nullable final String contentType) throws IOException {
+        return extract(body, contentType, null);
+    }
+
+    public PageContent extract(final InputStream body, @Nullable final String contentType,
+                               @Nullable final String knownHash) throws IOException {
+        return extract(body, contentType, knownHash, "");
+    }
+
+    public PageContent extract(final InputStream body, @Nullable final String contentType,
+                               @Nullable final String knownHash, final String baseUri) throws IOException {
+        final LimitedInputStream limited = new LimitedInputStream(body, maxBytes);
+        final MessageDigest digest = createDigest();
+        final BufferedInputStream input = new BufferedInputStream(new DigestInputStream(limited, digest));
+        final Charset charset = detectCharset(input, contentType);
+        final String html = readPrefix(new InputStreamReader(input, charset));
+        // NOTE: разбирается только начало страницы, но хэш считается по всему телу в пределах лимита,
+        // иначе изменения в конце страницы принимались бы за неизмененную страницу со старыми фактами.
+        input.transferTo(OutputStream.nullOutputStream());
+        final String contentHash = HexFormat.of().formatHex(digest.digest());
+
+        if (contentHash.equals(knownHash)) {
+            return PageContent.ofUnchanged(contentHash);
+        }
+
+        final PageContent content = extract(Jsoup.parse(html, baseUri), contentHash);
+        content.facts().setBytesRead(limited.getBytesRead());
+        return content;
+    }
+
+    public static PageContent extract(final Document document, @Nullable final String contentHash) {
+        final List<NodeExtractor> extractors = EXTRACTORS.stream()
+                .map(ServiceLoader.Provider::get)
+                .toList();
+
+        // NOTE: все экстракторы работают за один обход документа,
+        // новая метрика не добавляет еще один проход.
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(final Node node, final int depth) {
+                for (NodeExtractor extractor : extractors) {
+                    extractor.head(node);
+                }
+            }
+
+            @Override
+            public void tail(final Node node, final int depth) {
+                for (NodeExtractor extractor : extractors) {
+                    extractor.tail(node);
+                }
+            }
+        }, document);
+
+        final PageFacts facts = new PageFacts();
+        extractors.forEach(extractor -> extractor.finish(facts));
+        return new PageContent(facts, contentHash, false);
+    }
+
+    private String readPrefix(final Reader reader) throws IOException {
+        final StringBuilder html = new StringBuilder();
+        final char[] buffer = new char[BUFFER_CHARS];
+        int bodyStart = -1;
+        int read;
+
+        while ((read = reader.read(buffer)) != -1) {
+            final int scanFrom = Math.max(0, html.length() - BODY_START.length());
+            html.append(buffer, 0, read);
+
+            if (bodyStart < 0) {
+                bodyStart = indexOfIgnoreCase(html, BODY_START, scanFrom);
+            }
+            if (bodyStart >= 0 && html.length() - bodyStart > bodyThreshold) {
+                break;
+            }
+        }
+
+        // NOTE: обрезаем по позиции в документе, а не по границе прочитанного блока,
+        // чтобы одинаковые страницы давали одинаковый префикс
+        if (bodyStart >= 0 && bodyStart + bodyThreshold < html.length()) {
+            html.setLength(bodyStart + bodyThreshold);
+        }
+
+        if (html.length() > 0 && html.charAt(0) == BYTE_ORDER_MARK) {
+            html.deleteCharAt(0);
+        }
+        return html.toString();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Charset detectCharset(final BufferedInputStream input, @Nullable final String contentType)
+            throws IOException {
+        final Charset fromHeader = parseCharset(contentType);
+        if (fromHeader != null) {
+            return fromHeader;
+        }
+
+        input.mark(SNIFF_BYTES);
+        final byte[] head = input.readNBytes(SNIFF_BYTES);
+        input.reset();
+
+        final Charset fromMeta = parseCharset(new String(head, StandardCharsets.ISO_8859_1));
+        return fromMeta != null ? fromMeta : StandardCharsets.UTF_8;
+    }
+
+    private static @Nullable Charset parseCharset(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        final Matcher matcher = CHARSET.matcher(value);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        try {
+            return Charset.forName(matcher.group(1));
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+
+    private static int indexOfIgnoreCase(final CharSequence text, final String needle, final int from) {
+        final int last = text.length() - needle.length();
+        for (int i = from; i <= last; i++) {
+            if (regionMatchesIgnoreCase(text, i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatchesIgnoreCase(final CharSequence text, final int offset, final String needle) {
+        for (int i = 0; i < needle.length(); i++) {
+            if (Character.toLowerCase(text.charAt(offset + i)) != needle.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long remaining;
+
+        LimitedInputStream(final InputStream in, final long limit) {
+            super(in);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        long getBytesRead() {
+            return limit - remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int value = super.read();
+            if (value != -1) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package hexlet.code.checks;
+
+public final class PageFacts {
+    private String title;
+    private String h1;
+    private int h1Count;
+    private String description;
+    private String canonical;
+    private String robots;
+    private String ogTitle;
+    private String ogDescription;
+    private String ogImage;
+    private int internalLinks;
+    private int externalLinks;
+    private int wordCount;
+    private long bytesRead;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(final String title) {
+        this.title = title;
+    }
+
+    public String getH1() {
+        return h1;
+    }
+
+    public void setH1(final String h1) {
+        this.h1 = h1;
+    }
+
+    public int getH1Count() {
+        return h1Count;
+    }
+
+    public void setH1Count(final int h1Count) {
+        this.h1Count = h1Count;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(final String description) {
+        this.description = description;
+    }
+
+    public String getCanonical() {
+        return canonical;
+    }
+
+    public void setCanonical(final String canonical) {
+        this.canonical = canonical;
+    }
+
+    public String getRobots() {
+        return robots;
+    }
+
+    public void setRobots(final String robots) {
+        this.robots = robots;
+    }
+
+    public String getOgTitle() {
+        return ogTitle;
+    }
+
+    public void setOgTitle(final String ogTitle) {
+        this.ogTitle = ogTitle;
+    }
+
+    public String getOgDescription() {
+        return ogDescription;
+    }
+
+    public void setOgDescription(final String ogDescription) {
+        this.ogDescription = ogDescription;
+    }
+
+    public String getOgImage() {
+        return ogImage;
+    }
+
+    public void setOgImage(final String ogImage) {
+        this.ogImage = ogImage;
+    }
+
+    public int getInternalLinks() {
+        return internalLinks;
+    }
+
+    public void setInternalLinks(final int internalLinks) {
+        this.internalLinks = internalLinks;
+    }
+
+    public int getExternalLinks() {
+        return externalLinks;
+    }
+
+    public void setExternalLinks(final int externalLinks) {
+        this.externalLinks = externalLinks;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(final int wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(final long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+}
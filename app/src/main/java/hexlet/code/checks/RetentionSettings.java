@@ -0,0 +1,10 @@
+package hexlet.code.checks;
+
+public record RetentionSettings(boolean enabled, int keepChecks, int intervalMinutes) {
+    public static RetentionSettings fromEnv() {
+        return new RetentionSettings(
+                Boolean.parseBoolean(System.getenv().getOrDefault("CHECK_RETENTION_ENABLED", "false")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_RETENTION_KEEP", "100")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_RETENTION_INTERVAL_MINUTES", "1440")));
+    }
+}
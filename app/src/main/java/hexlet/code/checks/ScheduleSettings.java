@@ -0,0 +1,13 @@
+package hexlet.code.checks;
+
+public record ScheduleSettings(boolean enabled, int intervalMinutes, int concurrency, double jitter,
+                               int maxBackoffMinutes) {
+    public static ScheduleSettings fromEnv() {
+        return new ScheduleSettings(
+                Boolean.parseBoolean(System.getenv().getOrDefault("CHECK_SCHEDULE_ENABLED", "false")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_SCHEDULE_INTERVAL_MINUTES", "1440")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_SCHEDULE_CONCURRENCY", "4")),
+                Double.parseDouble(System.getenv().getOrDefault("CHECK_SCHEDULE_JITTER", "0.1")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_SCHEDULE_MAX_BACKOFF_MINUTES", "10080")));
+    }
+}
@@ -0,0 +1,5 @@
+package hexlet.code.checks;
+
+public record ScheduleStats(int queueDepth, int inFlight, long lastLagMillis, long maxLagMillis,
+                            long completed, long failed) {
+}
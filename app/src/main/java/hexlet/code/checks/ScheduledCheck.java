@@ -0,0 +1,47 @@
+package hexlet.code.checks;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+final class ScheduledCheck implements Delayed {
+    private final long urlId;
+    private final long dueAtMillis;
+    private final int failures;
+    private final long generation;
+
+    ScheduledCheck(final long urlId, final long dueAtMillis, final int failures, final long generation) {
+        this.urlId = urlId;
+        this.dueAtMillis = dueAtMillis;
+        this.failures = failures;
+        this.generation = generation;
+    }
+
+    long getUrlId() {
+        return urlId;
+    }
+
+    long getDueAtMillis() {
+        return dueAtMillis;
+    }
+
+    int getFailures() {
+        return failures;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public long getDelay(final TimeUnit unit) {
+        return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(final Delayed other) {
+        if (other instanceof ScheduledCheck scheduledCheck) {
+            return Long.compare(dueAtMillis, scheduledCheck.dueAtMillis);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,10 @@
+package hexlet.code.checks;
+
+public record WriteSettings(int batchSize, int flushIntervalMillis, int maxPending) {
+    public static WriteSettings fromEnv() {
+        return new WriteSettings(
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_WRITE_BATCH_SIZE", "200")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_WRITE_FLUSH_INTERVAL_MILLIS", "500")),
+                Integer.parseInt(System.getenv().getOrDefault("CHECK_WRITE_MAX_PENDING", "10000")));
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.checks.extractors;
+
+import hexlet.code.checks.NodeExtractor;
+import hexlet.code.checks.PageFacts;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+public final class HeadingExtractor implements NodeExtractor {
+    private String h1;
+    private int count;
+
+    @Override
+    public void head(final Node node) {
+        if (node instanceof Element element && element.normalName().equals("h1")) {
+            if (count == 0) {
+                h1 = element.text();
+            }
+            count++;
+        }
+    }
+
+    @Override
+    public void finish(final PageFacts facts) {
+        facts.setH1(h1);
+        facts.setH1Count(count);
+    }
+}
@@ -0,0 +1,62 @@
+package hexlet.code.checks.extractors;
+
+import hexlet.code.checks.NodeExtractor;
+import hexlet.code.checks.PageFacts;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+public final class LinkExtractor implements NodeExtractor {
+    private String baseHost;
+    private int internal;
+    private int external;
+
+    @Override
+    public void head(final Node node) {
+        if (baseHost == null) {
+            baseHost = getHost(node.baseUri());
+        }
+        if (!(node instanceof Element element) || !element.normalName().equals("a") || !element.hasAttr("href")) {
+            return;
+        }
+
+        final String href = element.attr("href").trim();
+        if (href.isEmpty() || href.startsWith("#")) {
+            return;
+        }
+
+        final String absolute = element.absUrl("href");
+        if (absolute.isEmpty()) {
+            if (!href.contains(":")) {
+                internal++;
+            }
+            return;
+        }
+        if (!absolute.startsWith("http://") && !absolute.startsWith("https://")) {
+            return;
+        }
+
+        if (getHost(absolute).equalsIgnoreCase(baseHost)) {
+            internal++;
+        } else {
+            external++;
+        }
+    }
+
+    @Override
+    public void finish(final PageFacts facts) {
+        facts.setInternalLinks(internal);
+        facts.setExternalLinks(external);
+    }
+
+    private static String getHost(final String uri) {
+        try {
+            final String host = new URI(uri).getHost();
+            return host != null ? host : "";
+        } catch (URISyntaxException e) {
+            return "";
+        }
+    }
+}
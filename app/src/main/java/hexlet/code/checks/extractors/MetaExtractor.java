@@ -0,0 +1,42 @@
+package hexlet.code.checks.extractors;
+
+import hexlet.code.checks.NodeExtractor;
+import hexlet.code.checks.PageFacts;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class MetaExtractor implements NodeExtractor {
+    private final Map<String, String> values = new HashMap<>();
+    private String canonical;
+
+    @Override
+    public void head(final Node node) {
+        if (!(node instanceof Element element)) {
+            return;
+        }
+
+        if (element.normalName().equals("meta")) {
+            final String key = element.hasAttr("property") ? element.attr("property") : element.attr("name");
+            if (!key.isEmpty()) {
+                values.putIfAbsent(key.toLowerCase(), element.attr("content"));
+            }
+        } else if (canonical == null && element.normalName().equals("link")
+                && element.attr("rel").equalsIgnoreCase("canonical")) {
+            final String href = element.absUrl("href");
+            canonical = href.isEmpty() ? element.attr("href") : href;
+        }
+    }
+
+    @Override
+    public void finish(final PageFacts facts) {
+        facts.setDescription(values.get("description"));
+        facts.setRobots(values.get("robots"));
+        facts.setOgTitle(values.get("og:title"));
+        facts.setOgDescription(values.get("og:description"));
+        facts.setOgImage(values.get("og:image"));
+        facts.setCanonical(canonical);
+    }
+}
@@ -0,0 +1,23 @@
+package hexlet.code.checks.extractors;
+
+import hexlet.code.checks.NodeExtractor;
+import hexlet.code.checks.PageFacts;
+import org.jsoup.internal.StringUtil;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+public final class TitleExtractor implements NodeExtractor {
+    private String title;
+
+    @Override
+    public void head(final Node node) {
+        if (title == null && node instanceof Element element && element.normalName().equals("title")) {
+            title = StringUtil.normaliseWhitespace(element.text()).trim();
+        }
+    }
+
+    @Override
+    public void finish(final PageFacts facts) {
+        facts.setTitle(title != null ? title : "");
+    }
+}
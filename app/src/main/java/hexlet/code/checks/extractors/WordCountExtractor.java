@@ -0,0 +1,46 @@
+package hexlet.code.checks.extractors;
+
+import hexlet.code.checks.NodeExtractor;
+import hexlet.code.checks.PageFacts;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+public final class WordCountExtractor implements NodeExtractor {
+    private boolean inBody;
+    private int words;
+
+    @Override
+    public void head(final Node node) {
+        if (node instanceof Element element && element.normalName().equals("body")) {
+            inBody = true;
+        } else if (inBody && node instanceof TextNode text) {
+            words += countWords(text.getWholeText());
+        }
+    }
+
+    @Override
+    public void tail(final Node node) {
+        if (node instanceof Element element && element.normalName().equals("body")) {
+            inBody = false;
+        }
+    }
+
+    @Override
+    public void finish(final PageFacts facts) {
+        facts.setWordCount(words);
+    }
+
+    private static int countWords(final String text) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            final boolean letter = Character.isLetterOrDigit(text.charAt(i));
+            if (letter && !inWord) {
+                count++;
+            }
+            inWord = letter;
+        }
+        return count;
+    }
+}
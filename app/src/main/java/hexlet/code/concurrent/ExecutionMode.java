@@ -0,0 +1,25 @@
+package hexlet.code.concurrent;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    public static ExecutionMode fromEnv() {
+        String mode = System.getenv().getOrDefault("EXECUTION_MODE", "platform");
+        return valueOf(mode.toUpperCase(Locale.ROOT));
+    }
+
+    public boolean isVirtual() {
+        return this == VIRTUAL;
+    }
+
+    public ThreadFactory threadFactory(final String prefix) {
+        if (isVirtual()) {
+            return Thread.ofVirtual().name(prefix + "-", 1).factory();
+        }
+        return new NamedThreadFactory(prefix);
+    }
+}
@@ -0,0 +1,67 @@
+package hexlet.code.concurrent;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            ExecutionMode.VIRTUAL.threadFactory("jetty"));
+    private final AtomicInteger threads = new AtomicInteger();
+    private final Object stopped = new Object();
+
+    @Override
+    public void execute(final Runnable task) {
+        executor.execute(() -> {
+            threads.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                threads.decrementAndGet();
+            }
+        });
+    }
+
+    // NOTE: join ждет остановки пула, а затем завершения запросов не дольше, чем сама остановка.
+    @Override
+    public void join() throws InterruptedException {
+        synchronized (stopped) {
+            while (!executor.isShutdown()) {
+                stopped.wait();
+            }
+        }
+        executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public int getThreads() {
+        return threads.get();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+
+    @Override
+    protected void doStop() throws InterruptedException {
+        executor.shutdown();
+        synchronized (stopped) {
+            stopped.notifyAll();
+        }
+        if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
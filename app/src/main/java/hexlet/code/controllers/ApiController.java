@@ -0,0 +1,150 @@
+package hexlet.code.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import hexlet.code.checks.CheckScheduler;
+import hexlet.code.db.Databases;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrl;
+import hexlet.code.domain.query.QUrlCheck;
+import hexlet.code.dto.ImportResult;
+import hexlet.code.dto.UrlCheckDto;
+import hexlet.code.dto.UrlDto;
+import hexlet.code.index.SearchIndex;
+import hexlet.code.index.UrlNameIndex;
+import io.ebean.Database;
+import io.javalin.http.BadRequestResponse;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.HttpStatus;
+import io.javalin.http.NotFoundResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class ApiController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiController.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int FETCH_SIZE = 500;
+    private static final int MAX_IMPORT_SIZE = 10_000;
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    public static Handler listUrls = ctx -> {
+        LOGGER.info("Request api urls list.");
+
+        try (SequenceWriter writer = openNdjson(ctx)) {
+            new QUrl(Databases.reads())
+                    .orderBy().id.asc()
+                    .setBufferFetchSizeHint(FETCH_SIZE)
+                    .findEach(url -> write(writer, UrlDto.from(url)));
+        }
+    };
+
+    public static Handler showUrl = ctx -> {
+        final Long id = ctx.pathParamAsClass("id", Long.class).get();
+
+        LOGGER.info("Request api url by id. [id={}]", id);
+
+        final Url url = new QUrl(Databases.reads()).id.equalTo(id).findOne();
+
+        if (url == null) {
+            throw new NotFoundResponse();
+        }
+
+        ctx.contentType("application/json");
+        ctx.result(MAPPER.writeValueAsString(UrlDto.from(url)));
+    };
+
+    public static Handler listUrlChecks = ctx -> {
+        final Long id = ctx.pathParamAsClass("id", Long.class).get();
+
+        LOGGER.info("Request api url checks. [id={}]", id);
+
+        final Database database = Databases.reads();
+        if (new QUrl(database).id.equalTo(id).findCount() == 0) {
+            throw new NotFoundResponse();
+        }
+
+        try (SequenceWriter writer = openNdjson(ctx)) {
+            new QUrlCheck(database)
+                    .url.id.equalTo(id)
+                    .titleText.fetch()
+                    .h1Text.fetch()
+                    .descriptionText.fetch()
+                    .orderBy().id.desc()
+                    .setBufferFetchSizeHint(FETCH_SIZE)
+                    .findEach(urlCheck -> write(writer, UrlCheckDto.from(urlCheck)));
+        }
+    };
+
+    public static Handler importUrls = ctx -> {
+        final String[] urlsFromBody = readBody(ctx);
+
+        LOGGER.info("Request api urls import. [size={}]", urlsFromBody.length);
+
+        if (urlsFromBody.length > MAX_IMPORT_SIZE) {
+            throw new BadRequestResponse("Too many urls, max " + MAX_IMPORT_SIZE);
+        }
+
+        final Set<String> names = new LinkedHashSet<>();
+        final List<String> invalid = new ArrayList<>();
+        for (String urlFromBody : urlsFromBody) {
+            final String normalizedUrl = UrlController.getNormalizedUrl(urlFromBody);
+            if (normalizedUrl == null) {
+                invalid.add(urlFromBody);
+            } else {
+                names.add(normalizedUrl);
+            }
+        }
+
+        final List<Url> created = UrlNameIndex.insertAllIfAbsent(names, IMPORT_BATCH_SIZE);
+        UrlCounter.increment(created.size());
+        if (!created.isEmpty()) {
+            UrlViews.urlCreated();
+        }
+        created.forEach(SearchIndex::indexUrl);
+        created.forEach(CheckScheduler::schedule);
+
+        LOGGER.info("Api urls import completed. [created={}, existing={}, invalid={}]",
+                created.size(), names.size() - created.size(), invalid.size());
+
+        ctx.status(HttpStatus.CREATED);
+        ctx.contentType("application/json");
+        ctx.result(MAPPER.writeValueAsString(
+                new ImportResult(created.size(), names.size() - created.size(), invalid)));
+    };
+
+    private static String[] readBody(final Context ctx) {
+        try {
+            return MAPPER.readValue(ctx.bodyInputStream(), String[].class);
+        } catch (IOException e) {
+            throw new BadRequestResponse("Expected a JSON array of urls");
+        }
+    }
+
+    private static SequenceWriter openNdjson(final Context ctx) throws IOException {
+        ctx.contentType(NDJSON);
+        return MAPPER.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(ctx.outputStream());
+    }
+
+    private static void write(final SequenceWriter writer, final Object value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
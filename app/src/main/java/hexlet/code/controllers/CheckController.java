@@ -0,0 +1,42 @@
+package hexlet.code.controllers;
+
+import hexlet.code.checks.BatchCrawler;
+import hexlet.code.checks.BatchProgress;
+import hexlet.code.checks.BatchSettings;
+import hexlet.code.checks.CheckScheduler;
+import io.javalin.http.Handler;
+import io.javalin.http.HttpStatus;
+import io.javalin.http.NotFoundResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class CheckController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckController.class);
+
+    public static Handler startBatch = ctx -> {
+        LOGGER.info("Request batch check start.");
+
+        if (!BatchCrawler.startAsync(BatchSettings.fromEnv())) {
+            ctx.status(HttpStatus.CONFLICT);
+            ctx.result("Batch check already running");
+            return;
+        }
+
+        ctx.status(HttpStatus.ACCEPTED);
+        ctx.result("Batch check started");
+    };
+
+    public static Handler showProgress = ctx -> {
+        final BatchProgress progress = BatchCrawler.getProgress();
+
+        if (progress == null) {
+            throw new NotFoundResponse();
+        }
+
+        ctx.json(progress);
+    };
+
+    public static Handler showSchedule = ctx -> {
+        ctx.json(CheckScheduler.getStats());
+    };
+}
@@ -0,0 +1,53 @@
+package hexlet.code.controllers;
+
+import hexlet.code.domain.query.QUrl;
+import hexlet.code.events.CheckEvents;
+import hexlet.code.events.Subscriber;
+import io.javalin.http.sse.SseClient;
+import jakarta.annotation.Nullable;
+import org.eclipse.jetty.server.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+public final class EventController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventController.class);
+
+    public static Consumer<SseClient> checkEvents = client -> {
+        LOGGER.info("Request check events.");
+
+        subscribe(client, null);
+    };
+
+    public static Consumer<SseClient> urlCheckEvents = client -> {
+        final Long id = client.ctx().pathParamAsClass("id", Long.class).getOrDefault(null);
+
+        LOGGER.info("Request url check events. [id={}]", id);
+
+        if (id == null || new QUrl().id.equalTo(id).findCount() == 0) {
+            LOGGER.error("Request url check events, not found. [id={}]", id);
+            client.close();
+            return;
+        }
+
+        subscribe(client, id);
+    };
+
+    private static void subscribe(final SseClient client, @Nullable final Long urlId) {
+        final Subscriber subscriber = CheckEvents.subscribe(urlId,
+                event -> client.sendEvent(event.name(), event.data(), event.id()), client::close);
+        client.onClose(subscriber::close);
+        setIdleTimeout(client);
+        client.keepAlive();
+    }
+
+    // NOTE: Jetty сам закрывает соединение, запись в которое не продвигается дольше таймаута, даже если
+    // сторож CheckEvents не успел это сделать.
+    private static void setIdleTimeout(final SseClient client) {
+        final Request request = Request.getBaseRequest(client.ctx().req());
+        if (request != null) {
+            request.getHttpChannel().getEndPoint().setIdleTimeout(CheckEvents.getIdleTimeoutMillis());
+        }
+    }
+}
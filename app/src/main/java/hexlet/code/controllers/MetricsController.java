@@ -0,0 +1,13 @@
+package hexlet.code.controllers;
+
+import hexlet.code.metrics.Metrics;
+import io.javalin.http.Handler;
+
+public final class MetricsController {
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    public static Handler showMetrics = ctx -> {
+        ctx.contentType(PROMETHEUS_TEXT);
+        ctx.result(Metrics.scrape());
+    };
+}
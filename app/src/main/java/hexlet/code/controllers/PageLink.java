@@ -0,0 +1,4 @@
+package hexlet.code.controllers;
+
+public record PageLink(int number, String href, boolean active) {
+}
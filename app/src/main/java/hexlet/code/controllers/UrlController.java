@@ -1,50 +1,113 @@
 package hexlet.code.controllers;
 
+import hexlet.code.cache.ViewCache;
+import hexlet.code.checks.CheckExecutor;
+import hexlet.code.checks.CheckScheduler;
+import hexlet.code.checks.CheckStatus;
+import hexlet.code.checks.CircuitBreaker;
+import hexlet.code.checks.FetchClient;
+import hexlet.code.db.Databases;
 import hexlet.code.domain.Url;
 import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.UrlCheckDaily;
 import hexlet.code.domain.query.QUrl;
 import hexlet.code.domain.query.QUrlCheck;
-import io.ebean.PagedList;
+import hexlet.code.domain.query.QUrlCheckDaily;
+import hexlet.code.dto.UrlCheckDailyDto;
+import hexlet.code.dto.UrlCheckDto;
+import hexlet.code.dto.UrlDto;
+import hexlet.code.index.InvertedIndex;
+import hexlet.code.index.SearchIndex;
+import hexlet.code.index.UrlNameIndex;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.SqlRow;
+import io.ebean.Transaction;
+import io.javalin.http.Context;
 import io.javalin.http.Handler;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
 import io.javalin.http.NotFoundResponse;
 import jakarta.annotation.Nullable;
-import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
-import kong.unirest.UnirestException;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.UUID;
 
 public final class UrlController {
     private static final Logger LOGGER = LoggerFactory.getLogger(UrlController.class);
     private static final int ROWS_PER_PAGE = 10;
+    private static final int PAGE_WINDOW = 2;
+    private static final int MAX_SKIP = PAGE_WINDOW * ROWS_PER_PAGE;
+    private static final int MAX_PAGE = Integer.MAX_VALUE - PAGE_WINDOW - 1;
+    private static final int MAX_OFFSET_PAGE = 100;
+    private static final int CHECKS_PER_PAGE = 20;
+    private static final int SEARCH_RESULTS = 50;
+    private static final int DAILY_CHECKS_LIMIT = 30;
+    private static final String UPDATE_URL_VERSION = "update url set version = version + 1 where id = :id";
+    private static final String SELECT_MAX_URL_ID = "select max(id) as max_id from url";
+    private static final String SELECT_URL_RANGE = "select count(*) as row_count,"
+            + " coalesce(sum(version), 0) as version_sum from url where id between :firstId and :lastId";
 
     public static Handler listUrls = ctx -> {
+        final String query = ctx.queryParam("q");
+        if (query != null && !query.isBlank()) {
+            searchUrls(ctx, query);
+            return;
+        }
+
         LOGGER.info("Request urls list.");
 
-        final int page = ctx.queryParamAsClass("page", Integer.class).getOrDefault(1) - 1;
-        final PagedList<Url> pagedUrlsWithChecks = getUrlsWithChecksByPage(page);
-        final int totalPage = pagedUrlsWithChecks.getTotalPageCount() + 1;
-        final int currentPage = pagedUrlsWithChecks.getPageIndex() + 1;
-        final List<Integer> pages = IntStream
-                .range(1, totalPage)
-                .boxed()
-                .toList();
-
-        ctx.attribute("urls", pagedUrlsWithChecks.getList());
-        ctx.attribute("pages", pages);
-        ctx.attribute("currentPage", currentPage);
+        final Long after = ctx.queryParamAsClass("after", Long.class).getOrDefault(null);
+        final Long before = ctx.queryParamAsClass("before", Long.class).getOrDefault(null);
+
+        final int currentPage = Math.min(MAX_PAGE,
+                Math.max(1, ctx.queryParamAsClass("page", Integer.class).getOrDefault(1)));
+
+        // NOTE: строки выбираются по курсору, номер страницы при нем только подпись. Старые ссылки ?page=N
+        // без курсора открываются через OFFSET, но лишь для первых MAX_OFFSET_PAGE страниц,
+        // а более дальние отправляются на первую страницу.
+        final boolean offsetPage = after == null && before == null && ctx.queryParam("page") != null;
+        if (offsetPage && currentPage > MAX_OFFSET_PAGE) {
+            ctx.redirect("/urls");
+            return;
+        }
+
+        final int skip;
+        if (offsetPage) {
+            skip = (currentPage - 1) * ROWS_PER_PAGE;
+        } else if (after == null && before == null) {
+            skip = 0;
+        } else {
+            skip = Math.min(MAX_SKIP, Math.max(0, ctx.queryParamAsClass("skip", Integer.class).getOrDefault(0)));
+        }
+
+        final String key = after + ":" + before + ":" + skip + ":" + currentPage;
+        final ViewCache.Entry<UrlListView> cached = UrlViews.LISTS.get(key,
+                view -> view.stamp().equals(getListStamp(view.urls(), view.endOfList(), getMaxUrlId(view))),
+                () -> getUrlListView(after, before, skip, currentPage));
+
+        if (isNotModified(ctx, cached.etag())) {
+            return;
+        }
+
+        final UrlListView view = cached.view();
+        ctx.attribute("urls", view.urls());
+        ctx.attribute("pages", view.pages());
+        ctx.attribute("previousPage", view.previousPage());
+        ctx.attribute("nextPage", view.nextPage());
         ctx.render("urls.html");
     };
 
-
     public static Handler createUrl = ctx -> {
         final String urlFromParams = ctx.formParamAsClass("url", String.class).getOrDefault(null);
 
@@ -62,7 +125,9 @@ public final class UrlController {
             return;
         }
 
-        if (getUrlByName(normalizedUrl) != null) {
+        final Url url = UrlNameIndex.insertIfAbsent(normalizedUrl);
+
+        if (url == null) {
             LOGGER.error("Url already exists. [url={}]", urlFromParams);
 
             ctx.sessionAttribute("flash", "Страница уже существует");
@@ -72,8 +137,10 @@ public final class UrlController {
         }
 
         LOGGER.info("Url added successfully. [url={}]", urlFromParams);
-        Url url = new Url(normalizedUrl);
-        url.save();
+        UrlCounter.increment(1);
+        UrlViews.urlCreated();
+        SearchIndex.indexUrl(url);
+        CheckScheduler.schedule(url);
 
         ctx.sessionAttribute("flash", "Страница успешно добавлена");
         ctx.sessionAttribute("flash-type", "success");
@@ -82,22 +149,38 @@ public final class UrlController {
 
     public static Handler showUrl = ctx -> {
         final Long id = ctx.pathParamAsClass("id", Long.class).getOrDefault(null);
+        final Long checksBefore = ctx.queryParamAsClass("checksBefore", Long.class).getOrDefault(null);
 
-        LOGGER.info("Request url by id. [id={}]", id);
+        LOGGER.info("Request url by id. [id={}, checksBefore={}]", id, checksBefore);
 
-        final Url url = getUrlById(id);
+        // NOTE: версия читается из базы на каждый запрос, поэтому запись другого узла
+        // делает устаревшим и закэшированное представление, и ETag.
+        final Long version = id == null ? null : getUrlVersion(id);
+        final ViewCache.Entry<UrlView> cached = version == null
+                ? null
+                : UrlViews.URLS.get(new UrlViews.UrlKey(id, checksBefore), view -> view.version() == version,
+                        () -> getUrlView(id, checksBefore));
 
-        if (url == null) {
+        if (cached == null) {
             LOGGER.error("Request url by id, not found. [id={}]", id);
             throw new NotFoundResponse();
         }
 
-        final List<UrlCheck> urlChecks = url.getUrlChecks();
-
         LOGGER.info("Request url by id, found. [id={}]", id);
 
-        ctx.attribute("url", url);
-        ctx.attribute("urlChecks", urlChecks);
+        final CheckStatus checkStatus = CheckExecutor.getStatus(id);
+        final CircuitBreaker.State hostState = FetchClient.getShared().getCircuitState(cached.view().url().name());
+        if (isNotModified(ctx, cached.etag() + "-" + checkStatus + "-" + hostState)) {
+            return;
+        }
+
+        ctx.attribute("url", cached.view().url());
+        ctx.attribute("urlChecks", cached.view().urlChecks());
+        ctx.attribute("olderChecks", cached.view().olderChecks());
+        ctx.attribute("newerChecks", cached.view().newerChecks());
+        ctx.attribute("dailyChecks", cached.view().dailyChecks());
+        ctx.attribute("checkStatus", checkStatus);
+        ctx.attribute("hostState", hostState);
         ctx.render("show.html");
     };
 
@@ -105,58 +188,266 @@ public final class UrlController {
         final Long id = ctx.pathParamAsClass("id", Long.class).getOrDefault(null);
         final Url url = getUrlById(id);
 
-        LOGGER.info("Request url verification. [url={}]", url.getName());
-
-        try {
-            LOGGER.info("Loading page by url for verification. [url={}]", url.getName());
+        if (url == null) {
+            LOGGER.error("Request url verification, not found. [id={}]", id);
+            throw new NotFoundResponse();
+        }
 
-            final HttpResponse<String> response = Unirest
-                    .get(url.getName())
-                    .asString();
+        LOGGER.info("Request url verification. [url={}]", url.getName());
 
-            LOGGER.info("Parsing page. [url={}]", url.getName());
+        switch (CheckExecutor.submit(url)) {
+            case QUEUED -> {
+                ctx.sessionAttribute("flash", "Проверка страницы запущена");
+                ctx.sessionAttribute("flash-type", "success");
+            }
+            case ALREADY_PENDING -> {
+                ctx.sessionAttribute("flash", "Проверка страницы уже выполняется");
+                ctx.sessionAttribute("flash-type", "info");
+            }
+            default -> {
+                ctx.sessionAttribute("flash", "Очередь проверок переполнена, попробуйте позже");
+                ctx.sessionAttribute("flash-type", "danger");
+            }
+        }
 
-            final Integer statusCode = response.getStatus();
-            final Document body = Jsoup.parse(response.getBody());
-            final String title = body.title();
-            final String h1 = body.selectFirst("h1") != null
-                    ? Objects.requireNonNull(body.selectFirst("h1")).text()
-                    : null;
-            final String description = body.selectFirst("meta[name=description]") != null
-                    ? Objects.requireNonNull(body.selectFirst("meta[name=description]")).attr("content")
-                    : null;
-            final var urlCheck = new UrlCheck(statusCode, title, h1, description, url);
+        ctx.redirect("/urls/" + id);
+    };
 
-            urlCheck.save();
+    public static Handler updateSchedule = ctx -> {
+        final Long id = ctx.pathParamAsClass("id", Long.class).getOrDefault(null);
+        final String intervalFromParams = ctx.formParam("interval");
+        final Integer interval = intervalFromParams == null || intervalFromParams.isBlank()
+                ? null
+                : ctx.formParamAsClass("interval", Integer.class)
+                        .check(value -> value > 0 && value <= CheckScheduler.MAX_INTERVAL_MINUTES,
+                                "Interval must be between 1 and " + CheckScheduler.MAX_INTERVAL_MINUTES)
+                        .get();
+        final Url url = getUrlById(id);
 
-            LOGGER.info("Url verification completed. [url={}]", url.getName());
+        if (url == null) {
+            LOGGER.error("Request url schedule update, not found. [id={}]", id);
+            throw new NotFoundResponse();
+        }
 
-            ctx.sessionAttribute("flash", "Страница успешно проверена");
-            ctx.sessionAttribute("flash-type", "success");
-        } catch (UnirestException e) {
-            LOGGER.error("Url verification error. [url={}]", url.getName());
+        LOGGER.info("Request url schedule update. [url={}, intervalMinutes={}]", url.getName(), interval);
 
-            ctx.sessionAttribute("flash", "Не удалось проверить страницу");
-            ctx.sessionAttribute("flash-type", "danger");
+        url.setCheckIntervalMinutes(interval);
+        try (Transaction transaction = DB.beginTransaction()) {
+            url.update();
+            DB.sqlUpdate(UPDATE_URL_VERSION).setParameter("id", url.getId()).execute();
+            transaction.commit();
         }
+        UrlViews.urlChanged(url.getId());
+        CheckScheduler.reschedule(url);
 
+        ctx.sessionAttribute("flash", "Расписание проверок обновлено");
+        ctx.sessionAttribute("flash-type", "success");
         ctx.redirect("/urls/" + id);
     };
 
-    private static PagedList<Url> getUrlsWithChecksByPage(final int page) {
-        return new QUrl()
-                .setFirstRow(page * ROWS_PER_PAGE)
-                .setMaxRows(ROWS_PER_PAGE)
-                .orderBy().id.asc()
-                .urlChecks.fetch(QUrlCheck.alias().statusCode, QUrlCheck.alias().createdAt)
-                .orderBy().urlChecks.createdAt.desc()
-                .findPagedList();
+    private static void searchUrls(final Context ctx, final String query) {
+        LOGGER.info("Request urls search. [q={}]", query);
+
+        final List<InvertedIndex.Hit> hits = SearchIndex.search(query, SEARCH_RESULTS);
+        final Map<Long, Url> urlsById = new HashMap<>();
+        if (!hits.isEmpty()) {
+            selectUrls()
+                    .id.in(hits.stream().map(InvertedIndex.Hit::id).toList())
+                    .findEach(url -> urlsById.put(url.getId(), url));
+        }
+
+        ctx.header(Header.CACHE_CONTROL, "no-store");
+        ctx.attribute("q", query);
+        ctx.attribute("urls", hits.stream()
+                .map(hit -> urlsById.get(hit.id()))
+                .filter(Objects::nonNull)
+                .map(UrlDto::from)
+                .toList());
+        ctx.attribute("pages", List.of());
+        ctx.render("urls.html");
     }
 
-    private static @Nullable Url getUrlByName(@Nullable final String url) {
-        return new QUrl()
-                .name.equalTo(url)
+    private static UrlListView getUrlListView(@Nullable final Long after, @Nullable final Long before,
+                                              final int skip, final int currentPage) {
+        final Long maxUrlId = getMaxUrlId();
+        final UrlPage urlPage = before != null
+                ? getUrlsBefore(before, skip)
+                : getUrlsAfter(after, skip, currentPage > 1);
+        final long totalPages = Math.max(1, (UrlCounter.getApproximateCount() + ROWS_PER_PAGE - 1) / ROWS_PER_PAGE);
+        final List<PageLink> pages = getPageLinks(urlPage, currentPage, totalPages);
+        final String previousPage = urlPage.hasPrevious() ? getPageHref(urlPage, currentPage, currentPage - 1) : null;
+        final String nextPage = urlPage.hasNext() ? getPageHref(urlPage, currentPage, currentPage + 1) : null;
+
+        // NOTE: ETag строится из версий сайтов на странице и ссылок навигации,
+        // поэтому совпадает на всех узлах, которые видят те же данные.
+        final StringBuilder content = new StringBuilder();
+        urlPage.urls().forEach(url -> content.append(url.getId()).append(':').append(url.getVersion()).append(','));
+        content.append(pages).append(previousPage).append(nextPage);
+
+        final boolean endOfList = !urlPage.hasNext() || totalPages < currentPage + PAGE_WINDOW;
+        final long versionSum = urlPage.urls().stream().mapToLong(Url::getVersion).sum();
+
+        return new UrlListView(
+                urlPage.urls().stream().map(UrlDto::from).toList(),
+                pages,
+                previousPage,
+                nextPage,
+                endOfList,
+                UUID.nameUUIDFromBytes(content.toString().getBytes(StandardCharsets.UTF_8)).toString(),
+                getStamp(urlPage.urls().size(), versionSum, endOfList ? maxUrlId : null));
+    }
+
+    // NOTE: кэш списка сверяется с базой по числу и сумме версий сайтов в диапазоне id страницы,
+    // а страницы в конце списка еще и по наибольшему id, поэтому записи других узлов видны сразу.
+    // Наибольший id читается до строк страницы: если сайт добавлен между ними, страница просто загрузится снова.
+    private static String getListStamp(final List<UrlDto> urls, final boolean endOfList,
+                                       @Nullable final Long maxUrlId) {
+        if (urls.isEmpty()) {
+            return getStamp(0, 0, endOfList ? maxUrlId : null);
+        }
+        final SqlRow range = Databases.reads().sqlQuery(SELECT_URL_RANGE)
+                .setParameter("firstId", urls.get(0).id())
+                .setParameter("lastId", urls.get(urls.size() - 1).id())
                 .findOne();
+        return getStamp(range.getLong("row_count"), range.getLong("version_sum"), endOfList ? maxUrlId : null);
+    }
+
+    private static String getStamp(final long rows, final long versionSum, @Nullable final Long maxUrlId) {
+        return rows + ":" + versionSum + ":" + maxUrlId;
+    }
+
+    private static @Nullable Long getMaxUrlId(final UrlListView view) {
+        return view.endOfList() ? getMaxUrlId() : null;
+    }
+
+    private static @Nullable Long getMaxUrlId() {
+        return Databases.reads().sqlQuery(SELECT_MAX_URL_ID).findOne().getLong("max_id");
+    }
+
+    private static @Nullable UrlView getUrlView(final long id, @Nullable final Long checksBefore) {
+        final Database database = Databases.reads();
+        final Url url = new QUrl(database).id.equalTo(id).findOne();
+        if (url == null) {
+            return null;
+        }
+
+        // NOTE: история проверок может быть длинной, поэтому она выводится страницами от новых к старым.
+        final QUrlCheck query = new QUrlCheck(database).url.id.equalTo(id);
+        if (checksBefore != null) {
+            query.id.lessThan(checksBefore);
+        }
+        final List<UrlCheck> urlChecks = query
+                .titleText.fetch()
+                .h1Text.fetch()
+                .descriptionText.fetch()
+                .orderBy().id.desc()
+                .setMaxRows(CHECKS_PER_PAGE + 1)
+                .findList();
+        final boolean hasOlder = urlChecks.size() > CHECKS_PER_PAGE;
+        final List<UrlCheck> page = hasOlder ? urlChecks.subList(0, CHECKS_PER_PAGE) : urlChecks;
+
+        final List<UrlCheckDaily> dailyChecks = new QUrlCheckDaily(database)
+                .url.id.equalTo(id)
+                .orderBy().checkDate.desc()
+                .setMaxRows(DAILY_CHECKS_LIMIT)
+                .findList();
+
+        return new UrlView(UrlDto.from(url),
+                page.stream().map(UrlCheckDto::from).toList(),
+                hasOlder ? "/urls/" + id + "?checksBefore=" + page.get(page.size() - 1).getId() : null,
+                checksBefore != null ? "/urls/" + id : null,
+                dailyChecks.stream().map(UrlCheckDailyDto::from).toList(),
+                url.getVersion());
+    }
+
+    private static @Nullable Long getUrlVersion(final long id) {
+        return new QUrl(Databases.reads())
+                .select(QUrl.alias().version)
+                .id.equalTo(id)
+                .findSingleAttribute();
+    }
+
+    private static boolean isNotModified(final Context ctx, final String version) {
+        // NOTE: flash-сообщение есть только в одном ответе, такую страницу браузер не должен сохранять.
+        if (ctx.sessionAttribute("flash") != null) {
+            ctx.header(Header.CACHE_CONTROL, "no-store");
+            return false;
+        }
+
+        final String etag = "W/\"" + version + "\"";
+        ctx.header(Header.CACHE_CONTROL, "private, no-cache");
+        ctx.header(Header.ETAG, etag);
+
+        if (etag.equals(ctx.header(Header.IF_NONE_MATCH))) {
+            ctx.status(HttpStatus.NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    private static UrlPage getUrlsAfter(@Nullable final Long after, final int skip, final boolean hasPrevious) {
+        final QUrl query = selectUrls();
+        if (after != null) {
+            query.id.greaterThan(after);
+        }
+        final List<Url> urls = query
+                .orderBy().id.asc()
+                .setFirstRow(skip)
+                .setMaxRows(ROWS_PER_PAGE + 1)
+                .findList();
+        final boolean hasNext = urls.size() > ROWS_PER_PAGE;
+
+        return new UrlPage(hasNext ? urls.subList(0, ROWS_PER_PAGE) : urls, hasPrevious, hasNext);
+    }
+
+    private static UrlPage getUrlsBefore(final long before, final int skip) {
+        final List<Url> urls = selectUrls()
+                .id.lessThan(before)
+                .orderBy().id.desc()
+                .setFirstRow(skip)
+                .setMaxRows(ROWS_PER_PAGE + 1)
+                .findList();
+        final boolean hasPrevious = urls.size() > ROWS_PER_PAGE;
+        final List<Url> page = new ArrayList<>(hasPrevious ? urls.subList(0, ROWS_PER_PAGE) : urls);
+        Collections.reverse(page);
+
+        return new UrlPage(page, hasPrevious, true);
+    }
+
+    private static QUrl selectUrls() {
+        return new QUrl(Databases.reads())
+                .select(QUrl.alias().id, QUrl.alias().name, QUrl.alias().createdAt,
+                        QUrl.alias().lastCheckStatusCode, QUrl.alias().lastCheckedAt,
+                        QUrl.alias().checkIntervalMinutes, QUrl.alias().version);
+    }
+
+    private static List<PageLink> getPageLinks(final UrlPage urlPage, final int currentPage,
+                                               final long totalPages) {
+        final int first = urlPage.hasPrevious() ? Math.max(1, currentPage - PAGE_WINDOW) : currentPage;
+        final int last = urlPage.hasNext()
+                ? (int) Math.max(currentPage + 1, Math.min(totalPages, currentPage + PAGE_WINDOW))
+                : currentPage;
+        final List<PageLink> links = new ArrayList<>(last - first + 1);
+
+        for (int page = first; page <= last; page++) {
+            links.add(new PageLink(page, getPageHref(urlPage, currentPage, page), page == currentPage));
+        }
+        return links;
+    }
+
+    private static String getPageHref(final UrlPage urlPage, final int currentPage, final int page) {
+        if (page <= 1) {
+            return "/urls";
+        }
+        if (page < currentPage && urlPage.firstId() != null) {
+            return "/urls?before=" + urlPage.firstId() + "&skip=" + (currentPage - page - 1) * ROWS_PER_PAGE
+                    + "&page=" + page;
+        }
+        if (page > currentPage && urlPage.lastId() != null) {
+            return "/urls?after=" + urlPage.lastId() + "&skip=" + (page - currentPage - 1) * ROWS_PER_PAGE
+                    + "&page=" + page;
+        }
+        return "/urls";
     }
 
     private static @Nullable Url getUrlById(@Nullable final Long id) {
@@ -165,7 +456,7 @@ public final class UrlController {
                 .findOne();
     }
 
-    private static @Nullable String getNormalizedUrl(@Nullable final String s) {
+    static @Nullable String getNormalizedUrl(@Nullable final String s) {
         try {
             LOGGER.info("Try to normalize url. [url={}]", s);
 
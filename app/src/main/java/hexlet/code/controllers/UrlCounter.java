@@ -0,0 +1,30 @@
+package hexlet.code.controllers;
+
+import hexlet.code.domain.query.QUrl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class UrlCounter {
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final AtomicLong COUNT = new AtomicLong(-1);
+    private static final AtomicLong REFRESHED_AT = new AtomicLong();
+
+    private UrlCounter() {
+    }
+
+    public static long getApproximateCount() {
+        final long refreshedAt = REFRESHED_AT.get();
+        final long now = System.nanoTime();
+        if (COUNT.get() < 0 || now - refreshedAt > REFRESH_INTERVAL_NANOS) {
+            if (REFRESHED_AT.compareAndSet(refreshedAt, now) || COUNT.get() < 0) {
+                COUNT.set(new QUrl().findCount());
+            }
+        }
+        return COUNT.get();
+    }
+
+    public static void increment(final int delta) {
+        COUNT.accumulateAndGet(delta, (count, added) -> count < 0 ? count : count + added);
+    }
+}
@@ -0,0 +1,12 @@
+package hexlet.code.controllers;
+
+import hexlet.code.dto.UrlDto;
+
+import java.util.List;
+
+public record UrlListView(List<UrlDto> urls, List<PageLink> pages, String previousPage, String nextPage,
+                          boolean endOfList, String version, String stamp) {
+    public boolean contains(final long id) {
+        return urls.stream().anyMatch(url -> url.id() == id);
+    }
+}
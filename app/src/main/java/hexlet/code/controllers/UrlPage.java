@@ -0,0 +1,15 @@
+package hexlet.code.controllers;
+
+import hexlet.code.domain.Url;
+
+import java.util.List;
+
+public record UrlPage(List<Url> urls, boolean hasPrevious, boolean hasNext) {
+    public Long firstId() {
+        return urls.isEmpty() ? null : urls.get(0).getId();
+    }
+
+    public Long lastId() {
+        return urls.isEmpty() ? null : urls.get(urls.size() - 1).getId();
+    }
+}
@@ -0,0 +1,11 @@
+package hexlet.code.controllers;
+
+import hexlet.code.dto.UrlCheckDailyDto;
+import hexlet.code.dto.UrlCheckDto;
+import hexlet.code.dto.UrlDto;
+
+import java.util.List;
+
+public record UrlView(UrlDto url, List<UrlCheckDto> urlChecks, String olderChecks, String newerChecks,
+                      List<UrlCheckDailyDto> dailyChecks, long version) {
+}
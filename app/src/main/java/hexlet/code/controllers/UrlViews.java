@@ -0,0 +1,51 @@
+package hexlet.code.controllers;
+
+import hexlet.code.cache.ViewCache;
+import jakarta.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+public final class UrlViews {
+    private static final int MAX_ENTRIES = Integer.parseInt(
+            System.getenv().getOrDefault("VIEW_CACHE_MAX_ENTRIES", "1000"));
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(Long.parseLong(
+            System.getenv().getOrDefault("VIEW_CACHE_TTL_SECONDS", "60")));
+
+    static final ViewCache<String, UrlListView> LISTS = new ViewCache<>(MAX_ENTRIES, TTL_NANOS,
+            UrlListView::version);
+    static final ViewCache<UrlKey, UrlView> URLS = new ViewCache<>(MAX_ENTRIES, TTL_NANOS,
+            view -> view.url().id() + "-" + view.version());
+
+    record UrlKey(long id, @Nullable Long checksBefore) {
+    }
+
+    private UrlViews() {
+    }
+
+    // NOTE: новый сайт получает наибольший id, поэтому меняются только страницы в конце списка.
+    public static void urlCreated() {
+        LISTS.invalidateViews(UrlListView::endOfList);
+    }
+
+    public static void urlChanged(final long id) {
+        URLS.invalidateIf(key -> key.id() == id);
+        LISTS.invalidateViews(view -> view.contains(id));
+    }
+
+    public static void invalidateAll() {
+        URLS.invalidateAll();
+        LISTS.invalidateAll();
+    }
+
+    public static long getHits() {
+        return LISTS.getHits() + URLS.getHits();
+    }
+
+    public static long getMisses() {
+        return LISTS.getMisses() + URLS.getMisses();
+    }
+
+    public static int size() {
+        return LISTS.size() + URLS.size();
+    }
+}
@@ -0,0 +1,94 @@
+package hexlet.code.db;
+
+import io.avaje.config.Config;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.config.DatabaseConfig;
+import io.ebean.datasource.DataSourcePool;
+import io.ebean.datasource.PoolStatus;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+
+public final class Databases {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Databases.class);
+    private static final String REPLICA = "replica";
+
+    private static Database replica;
+    private static boolean replicaLoaded;
+    private static boolean replicaOwned;
+    private static int users;
+
+    private Databases() {
+    }
+
+    // NOTE: реплика может отставать от основной базы, поэтому через нее идут только запросы страниц,
+    // где допустимы данные с небольшой задержкой.
+    public static Database reads() {
+        final Database database = getReplica();
+        return database != null ? database : DB.getDefault();
+    }
+
+    public static synchronized @Nullable Database getReplica() {
+        if (!replicaLoaded) {
+            replica = createReplica();
+            replicaLoaded = true;
+            replicaOwned = replica != null;
+        }
+        return replica;
+    }
+
+    public static synchronized void open() {
+        users++;
+    }
+
+    // NOTE: в одной JVM может работать несколько приложений, поэтому реплика закрывается вместе
+    // с последним из них и только если она создана здесь, а не передана через setReplica.
+    public static synchronized void shutdown() {
+        if (users == 0 || --users > 0 || !replicaOwned) {
+            return;
+        }
+        replica.shutdown();
+        replica = null;
+        replicaLoaded = false;
+        replicaOwned = false;
+    }
+
+    public static @Nullable PoolStatus getPoolStatus(@Nullable final Database database) {
+        final DataSource dataSource = database != null ? database.getDataSource() : null;
+        return dataSource instanceof DataSourcePool pool ? pool.getStatus(false) : null;
+    }
+
+    static synchronized void setReplica(@Nullable final Database database) {
+        if (replicaOwned) {
+            replica.shutdown();
+        }
+        replica = database;
+        replicaLoaded = true;
+        replicaOwned = false;
+    }
+
+    private static @Nullable Database createReplica() {
+        final String url = Config.get("datasource." + REPLICA + ".url", "");
+        if (url.isBlank()) {
+            return null;
+        }
+
+        final DatabaseConfig config = new DatabaseConfig();
+        config.setName(REPLICA);
+        config.loadFromProperties();
+        config.getDataSourceConfig().setReadOnly(true);
+        config.getDataSourceConfig().setAutoCommit(true);
+        config.setDdlGenerate(false);
+        config.setDdlRun(false);
+        config.setRunMigration(false);
+        config.setRegister(false);
+        config.setDefaultServer(false);
+
+        LOGGER.info("Read replica configured. [url={}]", url);
+        return DatabaseFactory.create(config);
+    }
+}
@@ -0,0 +1,64 @@
+package hexlet.code.domain;
+
+import io.ebean.Model;
+import io.ebean.annotation.Index;
+import io.ebean.annotation.NotNull;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.Instant;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"url_id"}))
+public final class CheckJob extends Model {
+    @Id
+    private long id;
+
+    @NotNull
+    @ManyToOne
+    private Url url;
+
+    @NotNull
+    @Index
+    private Instant dueAt;
+
+    private int failures;
+
+    @Column(length = 100)
+    private String lockedBy;
+
+    private Instant lockedUntil;
+
+    public CheckJob(final Url url, final Instant dueAt) {
+        this.url = url;
+        this.dueAt = dueAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Url getUrl() {
+        return url;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+}
@@ -0,0 +1,115 @@
+package hexlet.code.domain;
+
+import io.ebean.Model;
+import io.ebean.annotation.DbDefault;
+import io.ebean.annotation.NotNull;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Transient;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterOutputStream;
+
+@Entity
+public final class CheckText extends Model {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int COMPRESS_MIN_BYTES = 256;
+
+    @Id
+    private long id;
+
+    @NotNull
+    @Column(length = 64, unique = true)
+    private String hash;
+
+    @DbDefault("false")
+    private boolean compressed;
+
+    @NotNull
+    @Lob
+    private byte[] content;
+
+    @Transient
+    private String value;
+
+    public CheckText(final String hash, final boolean compressed, final byte[] content) {
+        this.hash = hash;
+        this.compressed = compressed;
+        this.content = content;
+    }
+
+    // NOTE: короткие строки сжатие только увеличивает, поэтому сжимаются длинные и только если это выгодно.
+    public static CheckText of(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final byte[] deflated = bytes.length >= COMPRESS_MIN_BYTES ? deflate(bytes) : bytes;
+        final boolean compressed = deflated.length < bytes.length;
+        final CheckText text = new CheckText(hash(value), compressed, compressed ? deflated : bytes);
+        text.value = value;
+        return text;
+    }
+
+    public static String hash(final String value) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public String getValue() {
+        if (value == null) {
+            value = new String(compressed ? inflate(content) : content, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static byte[] deflate(final byte[] bytes) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+            deflating.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(final byte[] bytes) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 2);
+        final Inflater inflater = new Inflater();
+        try (InflaterOutputStream inflating = new InflaterOutputStream(out, inflater)) {
+            inflating.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+}
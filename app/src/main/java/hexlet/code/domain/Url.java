@@ -1,10 +1,13 @@
 package hexlet.code.domain;
 
 import io.ebean.Model;
+import io.ebean.annotation.DbDefault;
+import io.ebean.annotation.Index;
 import io.ebean.annotation.NotNull;
 import io.ebean.annotation.WhenCreated;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
@@ -17,14 +20,26 @@ public final class Url extends Model {
     private long id;
 
     @NotNull
+    @Column(unique = true)
     private String name;
 
     @OneToMany(cascade = CascadeType.ALL)
     private List<UrlCheck> urlChecks;
 
+    @Index
     @WhenCreated
     private Instant createdAt;
 
+    private Integer lastCheckStatusCode;
+
+    private Instant lastCheckedAt;
+
+    private Integer checkIntervalMinutes;
+
+    // NOTE: увеличивается при каждом изменении сайта или его проверок, из него строится ETag страницы сайта.
+    @DbDefault("0")
+    private long version;
+
     public Url(final String name) {
         this.name = name;
     }
@@ -41,6 +56,26 @@ public final class Url extends Model {
         return createdAt;
     }
 
+    public Integer getLastCheckStatusCode() {
+        return lastCheckStatusCode;
+    }
+
+    public Instant getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    public Integer getCheckIntervalMinutes() {
+        return checkIntervalMinutes;
+    }
+
+    public void setCheckIntervalMinutes(final Integer checkIntervalMinutes) {
+        this.checkIntervalMinutes = checkIntervalMinutes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
     public List<UrlCheck> getUrlChecks() {
         return urlChecks;
     }
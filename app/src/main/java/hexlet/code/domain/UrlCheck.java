@@ -1,13 +1,17 @@
 package hexlet.code.domain;
 
 import io.ebean.Model;
+import io.ebean.annotation.DbDefault;
+import io.ebean.annotation.Index;
 import io.ebean.annotation.NotNull;
 import io.ebean.annotation.WhenCreated;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.Transient;
 import java.time.Instant;
 
 @Entity
@@ -17,17 +21,69 @@ public final class UrlCheck extends Model {
 
     private Integer statusCode;
 
+    @ManyToOne
+    private CheckText titleText;
+
+    @ManyToOne
+    private CheckText h1Text;
+
+    @ManyToOne
+    private CheckText descriptionText;
+
+    @Transient
     private String title;
 
+    @Transient
     private String h1;
 
-    @Lob
+    @Transient
     private String description;
 
+    private String etag;
+
+    private String lastModified;
+
+    @Column(length = 64)
+    private String contentHash;
+
+    @DbDefault("false")
+    private boolean unchanged;
+
+    @Column(length = 2048)
+    private String canonical;
+
+    private String robots;
+
+    private String ogTitle;
+
+    @Lob
+    private String ogDescription;
+
+    @Column(length = 2048)
+    private String ogImage;
+
+    private Integer h1Count;
+
+    private Integer internalLinks;
+
+    private Integer externalLinks;
+
+    private Integer wordCount;
+
+    private Long responseTimeMillis;
+
+    private Long contentLength;
+
+    // NOTE: проверка, которая не выполнялась (например, хост временно недоступен), хранится с причиной
+    // пропуска и без кода ответа, чтобы в истории было видно, что проверка была запланирована.
+    @Column(length = 32)
+    private String skipReason;
+
     @NotNull
     @ManyToOne
     private Url url;
 
+    @Index
     @WhenCreated
     private Instant createdAt;
 
@@ -40,6 +96,28 @@ public final class UrlCheck extends Model {
         this.url = url;
     }
 
+    // NOTE: копия не несет id, тексты и состояние, которые могла оставить неудачная запись пачки.
+    public UrlCheck copy() {
+        final UrlCheck copy = new UrlCheck(statusCode, getTitle(), getH1(), getDescription(), url);
+        copy.etag = etag;
+        copy.lastModified = lastModified;
+        copy.contentHash = contentHash;
+        copy.unchanged = unchanged;
+        copy.canonical = canonical;
+        copy.robots = robots;
+        copy.ogTitle = ogTitle;
+        copy.ogDescription = ogDescription;
+        copy.ogImage = ogImage;
+        copy.h1Count = h1Count;
+        copy.internalLinks = internalLinks;
+        copy.externalLinks = externalLinks;
+        copy.wordCount = wordCount;
+        copy.responseTimeMillis = responseTimeMillis;
+        copy.contentLength = contentLength;
+        copy.skipReason = skipReason;
+        return copy;
+    }
+
     public long getId() {
         return id;
     }
@@ -48,16 +126,155 @@ public final class UrlCheck extends Model {
         return statusCode;
     }
 
+    // NOTE: значения хранятся один раз в check_text, новая проверка держит их до записи в базу.
     public String getTitle() {
-        return title;
+        return title != null || titleText == null ? title : titleText.getValue();
     }
 
     public String getH1() {
-        return h1;
+        return h1 != null || h1Text == null ? h1 : h1Text.getValue();
     }
 
     public String getDescription() {
-        return description;
+        return description != null || descriptionText == null ? description : descriptionText.getValue();
+    }
+
+    public void setTexts(final CheckText titleText, final CheckText h1Text, final CheckText descriptionText) {
+        this.titleText = titleText;
+        this.h1Text = h1Text;
+        this.descriptionText = descriptionText;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(final String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(final String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(final String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public boolean isUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(final boolean unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public String getCanonical() {
+        return canonical;
+    }
+
+    public void setCanonical(final String canonical) {
+        this.canonical = canonical;
+    }
+
+    public String getRobots() {
+        return robots;
+    }
+
+    public void setRobots(final String robots) {
+        this.robots = robots;
+    }
+
+    public String getOgTitle() {
+        return ogTitle;
+    }
+
+    public void setOgTitle(final String ogTitle) {
+        this.ogTitle = ogTitle;
+    }
+
+    public String getOgDescription() {
+        return ogDescription;
+    }
+
+    public void setOgDescription(final String ogDescription) {
+        this.ogDescription = ogDescription;
+    }
+
+    public String getOgImage() {
+        return ogImage;
+    }
+
+    public void setOgImage(final String ogImage) {
+        this.ogImage = ogImage;
+    }
+
+    public Integer getH1Count() {
+        return h1Count;
+    }
+
+    public void setH1Count(final Integer h1Count) {
+        this.h1Count = h1Count;
+    }
+
+    public Integer getInternalLinks() {
+        return internalLinks;
+    }
+
+    public void setInternalLinks(final Integer internalLinks) {
+        this.internalLinks = internalLinks;
+    }
+
+    public Integer getExternalLinks() {
+        return externalLinks;
+    }
+
+    public void setExternalLinks(final Integer externalLinks) {
+        this.externalLinks = externalLinks;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(final Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Long getResponseTimeMillis() {
+        return responseTimeMillis;
+    }
+
+    public void setResponseTimeMillis(final Long responseTimeMillis) {
+        this.responseTimeMillis = responseTimeMillis;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(final Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getSkipReason() {
+        return skipReason;
+    }
+
+    public boolean isSkipped() {
+        return skipReason != null;
+    }
+
+    public void setSkipReason(final String skipReason) {
+        this.skipReason = skipReason;
     }
 
     public Url getUrl() {
@@ -0,0 +1,79 @@
+package hexlet.code.domain;
+
+import io.ebean.Model;
+import io.ebean.annotation.NotNull;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDate;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"url_id", "check_date"}))
+public final class UrlCheckDaily extends Model {
+    @Id
+    private long id;
+
+    @NotNull
+    @ManyToOne
+    private Url url;
+
+    @NotNull
+    private LocalDate checkDate;
+
+    private int checkCount;
+
+    private int successCount;
+
+    private int timedCount;
+
+    private long responseTimeSum;
+
+    private Long responseTimeMax;
+
+    public UrlCheckDaily(final Url url, final LocalDate checkDate) {
+        this.url = url;
+        this.checkDate = checkDate;
+    }
+
+    public void add(final int checks, final int successes, final int timed, final long timeSum,
+                    final Long timeMax) {
+        checkCount += checks;
+        successCount += successes;
+        timedCount += timed;
+        responseTimeSum += timeSum;
+        if (timeMax != null && (responseTimeMax == null || timeMax > responseTimeMax)) {
+            responseTimeMax = timeMax;
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Url getUrl() {
+        return url;
+    }
+
+    public LocalDate getCheckDate() {
+        return checkDate;
+    }
+
+    public int getCheckCount() {
+        return checkCount;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public Long getResponseTimeAvg() {
+        return timedCount > 0 ? responseTimeSum / timedCount : null;
+    }
+
+    public Long getResponseTimeMax() {
+        return responseTimeMax;
+    }
+}
@@ -0,0 +1,6 @@
+package hexlet.code.dto;
+
+import java.util.List;
+
+public record ImportResult(int created, int existing, List<String> invalid) {
+}
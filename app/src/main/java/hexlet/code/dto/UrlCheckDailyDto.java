@@ -0,0 +1,13 @@
+package hexlet.code.dto;
+
+import hexlet.code.domain.UrlCheckDaily;
+
+import java.time.LocalDate;
+
+public record UrlCheckDailyDto(LocalDate checkDate, int checkCount, int successCount, Long responseTimeAvg,
+                               Long responseTimeMax) {
+    public static UrlCheckDailyDto from(final UrlCheckDaily daily) {
+        return new UrlCheckDailyDto(daily.getCheckDate(), daily.getCheckCount(), daily.getSuccessCount(),
+                daily.getResponseTimeAvg(), daily.getResponseTimeMax());
+    }
+}
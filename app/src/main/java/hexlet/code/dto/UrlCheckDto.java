@@ -0,0 +1,20 @@
+package hexlet.code.dto;
+
+import hexlet.code.domain.UrlCheck;
+
+import java.time.Instant;
+
+public record UrlCheckDto(long id, long urlId, Integer statusCode, String title, String h1, String description,
+                          boolean unchanged, String canonical, String robots, String ogTitle, String ogDescription,
+                          String ogImage, Integer h1Count, Integer internalLinks, Integer externalLinks,
+                          Integer wordCount, Long responseTimeMillis, Long contentLength, String skipReason,
+                          Instant createdAt) {
+    public static UrlCheckDto from(final UrlCheck urlCheck) {
+        return new UrlCheckDto(urlCheck.getId(), urlCheck.getUrl().getId(), urlCheck.getStatusCode(),
+                urlCheck.getTitle(), urlCheck.getH1(), urlCheck.getDescription(), urlCheck.isUnchanged(),
+                urlCheck.getCanonical(), urlCheck.getRobots(), urlCheck.getOgTitle(), urlCheck.getOgDescription(),
+                urlCheck.getOgImage(), urlCheck.getH1Count(), urlCheck.getInternalLinks(),
+                urlCheck.getExternalLinks(), urlCheck.getWordCount(), urlCheck.getResponseTimeMillis(),
+                urlCheck.getContentLength(), urlCheck.getSkipReason(), urlCheck.getCreatedAt());
+    }
+}
@@ -0,0 +1,13 @@
+package hexlet.code.dto;
+
+import hexlet.code.domain.Url;
+
+import java.time.Instant;
+
+public record UrlDto(long id, String name, Instant createdAt, Integer lastCheckStatusCode, Instant lastCheckedAt,
+                     Integer checkIntervalMinutes) {
+    public static UrlDto from(final Url url) {
+        return new UrlDto(url.getId(), url.getName(), url.getCreatedAt(), url.getLastCheckStatusCode(),
+                url.getLastCheckedAt(), url.getCheckIntervalMinutes());
+    }
+}
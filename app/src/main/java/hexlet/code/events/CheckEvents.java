@@ -0,0 +1,140 @@
+package hexlet.code.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import hexlet.code.concurrent.ExecutionMode;
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.dto.UrlCheckDto;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public final class CheckEvents {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckEvents.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final Set<Subscriber> SUBSCRIBERS = ConcurrentHashMap.newKeySet();
+    private static final LongAdder PUBLISHED = new LongAdder();
+    private static final LongAdder STALLED = new LongAdder();
+    static final LongAdder DROPPED = new LongAdder();
+
+    private static EventSettings settings = EventSettings.fromEnv();
+    private static ExecutorService delivery;
+    private static ScheduledExecutorService heartbeat;
+
+    private CheckEvents() {
+    }
+
+    public static synchronized void start(final EventSettings eventSettings, final ExecutionMode executionMode) {
+        if (delivery != null) {
+            return;
+        }
+        settings = eventSettings;
+        // NOTE: у каждого клиента свой поток доставки (виртуальный или обычный, по EXECUTION_MODE), поэтому
+        // зависшая запись одному клиенту не занимает общий пул и не задерживает остальных.
+        delivery = Executors.newThreadPerTaskExecutor(executionMode.threadFactory("check-events"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("check-events-heartbeat"));
+        heartbeat.scheduleWithFixedDelay(() -> SUBSCRIBERS.forEach(Subscriber::ping),
+                eventSettings.heartbeatSeconds(), eventSettings.heartbeatSeconds(), TimeUnit.SECONDS);
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(eventSettings.writeTimeoutMillis());
+        final long checkMillis = Math.max(1, eventSettings.writeTimeoutMillis() / 2);
+        heartbeat.scheduleWithFixedDelay(() -> closeStalled(timeoutNanos), checkMillis, checkMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (delivery == null) {
+            return;
+        }
+        SUBSCRIBERS.forEach(Subscriber::close);
+        heartbeat.shutdownNow();
+        delivery.shutdownNow();
+        heartbeat = null;
+        delivery = null;
+    }
+
+    public static synchronized Subscriber subscribe(@Nullable final Long urlId, final Consumer<Event> sink,
+                                                    final Runnable onStalled) {
+        if (delivery == null) {
+            throw new IllegalStateException("Check events are not started");
+        }
+        final Subscriber subscriber = new Subscriber(urlId, settings.bufferSize(), delivery, sink, onStalled);
+        SUBSCRIBERS.add(subscriber);
+
+        LOGGER.info("Check events subscribed. [urlId={}, subscribers={}]", urlId, SUBSCRIBERS.size());
+        return subscriber;
+    }
+
+    // NOTE: запас в период heartbeat: живое соединение пишет хотя бы раз за период и по таймауту не закрывается.
+    public static long getIdleTimeoutMillis() {
+        return TimeUnit.SECONDS.toMillis(settings.heartbeatSeconds()) + settings.writeTimeoutMillis();
+    }
+
+    static void unsubscribe(final Subscriber subscriber) {
+        if (SUBSCRIBERS.remove(subscriber)) {
+            LOGGER.info("Check events unsubscribed. [subscribers={}]", SUBSCRIBERS.size());
+        }
+    }
+
+    private static void closeStalled(final long timeoutNanos) {
+        final long now = System.nanoTime();
+        for (Subscriber subscriber : SUBSCRIBERS) {
+            if (subscriber.closeIfStalled(now, timeoutNanos)) {
+                STALLED.increment();
+                LOGGER.warn("Check events client stalled, disconnected. [subscribers={}]", SUBSCRIBERS.size());
+            }
+        }
+    }
+
+    public static void publish(final UrlCheck urlCheck) {
+        if (SUBSCRIBERS.isEmpty()) {
+            return;
+        }
+
+        final long urlId = urlCheck.getUrl().getId();
+        final Event event;
+        try {
+            event = new Event("check", Long.toString(urlCheck.getId()),
+                    MAPPER.writeValueAsString(UrlCheckDto.from(urlCheck)));
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Check event serialization error. [urlId={}]", urlId, e);
+            return;
+        }
+
+        PUBLISHED.increment();
+        for (Subscriber subscriber : SUBSCRIBERS) {
+            if (subscriber.accepts(urlId)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public static long getStalled() {
+        return STALLED.sum();
+    }
+
+    public static int getSubscriberCount() {
+        return SUBSCRIBERS.size();
+    }
+
+    public static long getPublished() {
+        return PUBLISHED.sum();
+    }
+
+    public static long getDropped() {
+        return DROPPED.sum();
+    }
+}
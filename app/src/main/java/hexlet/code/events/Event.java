@@ -0,0 +1,5 @@
+package hexlet.code.events;
+
+public record Event(String name, String id, String data) {
+    static final Event PING = new Event("ping", null, "");
+}
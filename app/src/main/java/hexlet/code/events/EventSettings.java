@@ -0,0 +1,10 @@
+package hexlet.code.events;
+
+public record EventSettings(int bufferSize, int writeTimeoutMillis, int heartbeatSeconds) {
+    public static EventSettings fromEnv() {
+        return new EventSettings(
+                Integer.parseInt(System.getenv().getOrDefault("EVENTS_BUFFER_SIZE", "64")),
+                Integer.parseInt(System.getenv().getOrDefault("EVENTS_WRITE_TIMEOUT_MILLIS", "5000")),
+                Integer.parseInt(System.getenv().getOrDefault("EVENTS_HEARTBEAT_SECONDS", "15")));
+    }
+}
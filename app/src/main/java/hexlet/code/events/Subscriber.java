@@ -0,0 +1,119 @@
+package hexlet.code.events;
+
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+public final class Subscriber implements AutoCloseable {
+    private final Long urlId;
+    private final int capacity;
+    private final Executor executor;
+    private final Consumer<Event> sink;
+    private final Runnable onStalled;
+    private final Deque<Event> buffer = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+    private long dropped;
+    private long writingSince;
+
+    Subscriber(@Nullable final Long urlId, final int capacity, final Executor executor, final Consumer<Event> sink,
+               final Runnable onStalled) {
+        this.urlId = urlId;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.sink = sink;
+        this.onStalled = onStalled;
+    }
+
+    boolean accepts(final long eventUrlId) {
+        return urlId == null || urlId == eventUrlId;
+    }
+
+    // NOTE: медленный клиент не должен задерживать остальных, поэтому при переполнении
+    // буфера теряются самые старые события, а не блокируется публикация.
+    void offer(final Event event) {
+        synchronized (buffer) {
+            if (closed) {
+                return;
+            }
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst();
+                dropped++;
+                CheckEvents.DROPPED.increment();
+            }
+            buffer.addLast(event);
+            scheduleDrain();
+        }
+    }
+
+    void ping() {
+        synchronized (buffer) {
+            if (!closed && !draining) {
+                buffer.addLast(Event.PING);
+                scheduleDrain();
+            }
+        }
+    }
+
+    // NOTE: запись в сокет блокирующая, и клиент, который перестал читать, держит свой поток доставки.
+    // Такой клиент отключается, чтобы его поток освободился при ошибке записи.
+    boolean closeIfStalled(final long now, final long timeoutNanos) {
+        synchronized (buffer) {
+            if (closed || writingSince == 0 || now - writingSince < timeoutNanos) {
+                return false;
+            }
+        }
+        close();
+        onStalled.run();
+        return true;
+    }
+
+    public long getDropped() {
+        synchronized (buffer) {
+            return dropped;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (buffer) {
+            closed = true;
+            buffer.clear();
+        }
+        CheckEvents.unsubscribe(this);
+    }
+
+    private void scheduleDrain() {
+        if (!draining) {
+            draining = true;
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            final Event event;
+            synchronized (buffer) {
+                event = closed ? null : buffer.pollFirst();
+                if (event == null) {
+                    draining = false;
+                    return;
+                }
+                writingSince = System.nanoTime();
+            }
+            try {
+                sink.accept(event);
+            } catch (RuntimeException e) {
+                close();
+                return;
+            } finally {
+                synchronized (buffer) {
+                    writingSince = 0;
+                }
+            }
+        }
+    }
+}
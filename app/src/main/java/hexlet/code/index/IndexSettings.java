@@ -0,0 +1,9 @@
+package hexlet.code.index;
+
+public record IndexSettings(int refreshSeconds, int overlapSeconds) {
+    public static IndexSettings fromEnv() {
+        return new IndexSettings(
+                Integer.parseInt(System.getenv().getOrDefault("SEARCH_INDEX_REFRESH_SECONDS", "10")),
+                Integer.parseInt(System.getenv().getOrDefault("SEARCH_INDEX_REFRESH_OVERLAP_SECONDS", "120")));
+    }
+}
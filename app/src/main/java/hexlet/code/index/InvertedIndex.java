@@ -0,0 +1,265 @@
+package hexlet.code.index;
+
+import jakarta.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public final class InvertedIndex {
+    private static final float NAME_WEIGHT = 3f;
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float H1_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 256;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int SNAPSHOT_MAGIC = 0x53524348;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final int DOCUMENT_HEADER_BYTES = Long.BYTES * 2 + Integer.BYTES;
+    private static final int TERM_HEADER_BYTES = Short.BYTES + Float.BYTES;
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of("http", "https", "www");
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Document(long version, Map<String, Float> terms) {
+    }
+
+    public record Hit(long id, double score) {
+    }
+
+    public boolean put(final long id, final long version, final String name, @Nullable final String title,
+                       @Nullable final String h1, @Nullable final String description) {
+        final Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, name, NAME_WEIGHT);
+        addTerms(terms, title, TITLE_WEIGHT);
+        addTerms(terms, h1, H1_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        return put(id, new Document(version, terms));
+    }
+
+    public List<Hit> search(final String query, final int limit) {
+        final Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                final Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getMaxId() {
+        lock.readLock().lock();
+        try {
+            return documents.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getMaxVersion() {
+        lock.readLock().lock();
+        try {
+            return documents.values().stream().mapToLong(Document::version).max().orElse(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // NOTE: снимок пишется и читается кусками, одно отображение файла в память ограничено 2 ГБ.
+    public void writeTo(final Path path) throws IOException {
+        lock.readLock().lock();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(documents.size());
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                final Document document = entry.getValue();
+                reserve(channel, buffer, DOCUMENT_HEADER_BYTES);
+                buffer.putLong(entry.getKey()).putLong(document.version()).putInt(document.terms().size());
+                for (Map.Entry<String, Float> term : document.terms().entrySet()) {
+                    final byte[] bytes = term.getKey().getBytes(StandardCharsets.UTF_8);
+                    reserve(channel, buffer, TERM_HEADER_BYTES + bytes.length);
+                    buffer.putShort((short) bytes.length).put(bytes).putFloat(term.getValue());
+                }
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void readFrom(final Path path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path),
+                CHUNK_BYTES))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported search index snapshot: " + path);
+            }
+
+            final int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                final long id = input.readLong();
+                final long version = input.readLong();
+                final int termCount = input.readInt();
+                final Map<String, Float> terms = new HashMap<>(termCount * 2);
+                for (int j = 0; j < termCount; j++) {
+                    final byte[] bytes = new byte[input.readShort()];
+                    input.readFully(bytes);
+                    terms.put(new String(bytes, StandardCharsets.UTF_8), input.readFloat());
+                }
+                put(id, new Document(version, terms));
+            }
+        }
+    }
+
+    private static void reserve(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+            throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static Set<String> tokenize(@Nullable final String text) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH && token.length() <= MAX_TOKEN_LENGTH
+                    && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTerms(final Map<String, Float> terms, @Nullable final String text, final float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    private boolean put(final long id, final Document document) {
+        lock.writeLock().lock();
+        try {
+            // NOTE: при перестроении индекса из базы данные могут прийти позже свежей проверки,
+            // поэтому документ заменяется только более новой версией.
+            final Document previous = documents.get(id);
+            if (previous != null) {
+                if (previous.version() > document.version()) {
+                    return false;
+                }
+                removePostings(id, previous);
+            }
+
+            documents.put(id, document);
+            document.terms().forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>())
+                    .put(id, weight));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePostings(final long id, final Document document) {
+        for (String term : document.terms().keySet()) {
+            final Map<Long, Float> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // NOTE: последнее слово запроса обычно набрано не полностью, поэтому каждое слово ищется и как префикс,
+    // но точное совпадение весит больше.
+    private Map<Long, Double> scoreToken(final String token) {
+        final Map<Long, Double> scores = new HashMap<>();
+        final Iterator<Map.Entry<String, Map<Long, Float>>> terms = postings
+                .subMap(token, true, token + Character.MAX_VALUE, false)
+                .entrySet().iterator();
+
+        for (int i = 0; i < MAX_PREFIX_TERMS && terms.hasNext(); i++) {
+            final Map.Entry<String, Map<Long, Float>> term = terms.next();
+            final double idf = Math.log(1 + (double) documents.size() / term.getValue().size());
+            final double boost = term.getKey().equals(token) ? 1 : PREFIX_WEIGHT;
+            term.getValue().forEach((id, weight) -> scores.merge(id, idf * weight * boost, Math::max));
+        }
+        return scores;
+    }
+}
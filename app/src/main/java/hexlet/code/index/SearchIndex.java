@@ -0,0 +1,214 @@
+package hexlet.code.index;
+
+import hexlet.code.checks.CheckTexts;
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.domain.CheckText;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.metrics.Histogram;
+import hexlet.code.metrics.Metrics;
+import io.ebean.DB;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class SearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
+    private static final Histogram QUERY_SECONDS = Metrics.histogram("search_query_duration_seconds",
+            "Latency of url search queries.");
+    private static final String SELECT_LATEST = "select u.id, u.name, c.id as check_id,"
+            + " c.title_text_id, c.h1_text_id, c.description_text_id"
+            + " from url u left join url_check c"
+            + " on c.id = (select max(m.id) from url_check m where m.url_id = u.id and m.skip_reason is null)";
+    private static final String WHERE_NEW_URLS = " where u.id > :urlId";
+    private static final String WHERE_CREATED_URLS = " where u.created_at > :since";
+    private static final String WHERE_NEW_CHECKS = " where u.id <= :urlId and c.id > :checkId";
+    private static final String SELECT_NEW_CHECKS = "select u.id, u.name, c.id as check_id,"
+            + " c.title_text_id, c.h1_text_id, c.description_text_id"
+            + " from url_check c join url u on u.id = c.url_id"
+            + " where c.created_at > :since and c.skip_reason is null"
+            + " and c.id = (select max(m.id) from url_check m where m.url_id = c.url_id and m.skip_reason is null)";
+    private static final String SNAPSHOT_FILE = System.getenv().getOrDefault("SEARCH_INDEX_FILE", "");
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final List<String> TEXT_COLUMNS = List.of("title_text_id", "h1_text_id", "description_text_id");
+    private static final InvertedIndex INDEX = new InvertedIndex();
+    private static final Object LOCK = new Object();
+
+    private static Instant syncedAt;
+    private static volatile long overlapSeconds = IndexSettings.fromEnv().overlapSeconds();
+    private static ScheduledExecutorService refresher;
+
+    private SearchIndex() {
+    }
+
+    // NOTE: локальные записи попадают в индекс сразу, а записи других узлов дочитываются из базы
+    // по времени создания. Отметка времени не сдвигается локальными записями, поэтому сайт,
+    // добавленный другим узлом, не пропадет.
+    public static synchronized void start(final IndexSettings settings) {
+        if (settings.refreshSeconds() <= 0 || refresher != null) {
+            return;
+        }
+        overlapSeconds = settings.overlapSeconds();
+        refresher = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("search-index-refresh"));
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                LOGGER.error("Search index refresh error.", e);
+            }
+        }, settings.refreshSeconds(), settings.refreshSeconds(), TimeUnit.SECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (refresher == null) {
+            return;
+        }
+        refresher.shutdownNow();
+        refresher = null;
+    }
+
+    // NOTE: если есть снимок индекса, из базы дочитываются только сайты и проверки, появившиеся после него.
+    public static void rebuild() {
+        final long start = System.nanoTime();
+        final Instant startedAt = Instant.now();
+        synchronized (LOCK) {
+            if (!SNAPSHOT_FILE.isBlank() && Files.exists(Path.of(SNAPSHOT_FILE))) {
+                try {
+                    INDEX.readFrom(Path.of(SNAPSHOT_FILE));
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.error("Search index snapshot is not readable, rebuilding. [file={}]", SNAPSHOT_FILE, e);
+                }
+            }
+
+            final long maxUrlId = INDEX.getMaxId();
+            final long maxCheckId = INDEX.getMaxVersion();
+            load(DB.sqlQuery(SELECT_LATEST + WHERE_NEW_URLS)
+                    .setParameter("urlId", maxUrlId));
+            load(DB.sqlQuery(SELECT_LATEST + WHERE_NEW_CHECKS)
+                    .setParameter("urlId", maxUrlId)
+                    .setParameter("checkId", maxCheckId));
+            syncedAt = startedAt;
+        }
+
+        LOGGER.info("Search index built. [documents={}, terms={}, elapsedMillis={}]",
+                INDEX.size(), INDEX.getTermCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static void saveSnapshot() {
+        if (SNAPSHOT_FILE.isBlank()) {
+            return;
+        }
+        try {
+            final Path path = Path.of(SNAPSHOT_FILE);
+            final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            INDEX.writeTo(temporary);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+
+            LOGGER.info("Search index snapshot saved. [file={}, documents={}]", SNAPSHOT_FILE, INDEX.size());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Search index snapshot error. [file={}]", SNAPSHOT_FILE, e);
+        }
+    }
+
+    // NOTE: время создания ставится до фиксации транзакции, а id на разных узлах фиксируются не по порядку,
+    // поэтому строки перечитываются с запасом по времени, который больше задержки записи пачки и расхождения
+    // часов узлов. Повторная запись документа той же версии ничего не меняет.
+    public static void refresh() {
+        final long start = System.nanoTime();
+        final Instant startedAt = Instant.now();
+        synchronized (LOCK) {
+            if (syncedAt == null) {
+                return;
+            }
+            final Instant since = syncedAt.minusSeconds(overlapSeconds);
+            load(DB.sqlQuery(SELECT_LATEST + WHERE_CREATED_URLS).setParameter("since", since));
+            load(DB.sqlQuery(SELECT_NEW_CHECKS).setParameter("since", since));
+            syncedAt = startedAt;
+        }
+
+        LOGGER.debug("Search index refreshed. [syncedAt={}, elapsedMillis={}]",
+                startedAt, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static void indexUrl(final Url url) {
+        INDEX.put(url.getId(), 0, url.getName(), null, null, null);
+    }
+
+    public static void indexCheck(final UrlCheck urlCheck) {
+        if (urlCheck.isSkipped()) {
+            return;
+        }
+        final Url url = urlCheck.getUrl();
+        INDEX.put(url.getId(), urlCheck.getId(), url.getName(), urlCheck.getTitle(), urlCheck.getH1(),
+                urlCheck.getDescription());
+    }
+
+    public static List<InvertedIndex.Hit> search(final String query, final int limit) {
+        final long start = System.nanoTime();
+        final List<InvertedIndex.Hit> hits = INDEX.search(query, limit);
+        QUERY_SECONDS.observeNanos(System.nanoTime() - start);
+        return hits;
+    }
+
+    public static int size() {
+        return INDEX.size();
+    }
+
+    public static int getTermCount() {
+        return INDEX.getTermCount();
+    }
+
+    // NOTE: тексты проверок хранятся отдельно, поэтому строки читаются пачками и тексты подгружаются одним запросом.
+    private static void load(final SqlQuery query) {
+        final List<SqlRow> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        query.findEach(row -> {
+            batch.add(row);
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                putAll(batch);
+                batch.clear();
+            }
+        });
+        putAll(batch);
+    }
+
+    private static void putAll(final List<SqlRow> rows) {
+        final Set<Long> textIds = new HashSet<>();
+        for (SqlRow row : rows) {
+            for (String column : TEXT_COLUMNS) {
+                final Long textId = row.getLong(column);
+                if (textId != null) {
+                    textIds.add(textId);
+                }
+            }
+        }
+
+        final Map<Long, CheckText> texts = CheckTexts.findAll(DB.getDefault(), textIds);
+        for (SqlRow row : rows) {
+            final Long checkId = row.getLong("check_id");
+            INDEX.put(row.getLong("id"), checkId != null ? checkId : 0, row.getString("name"),
+                    getValue(texts, row.getLong("title_text_id")), getValue(texts, row.getLong("h1_text_id")),
+                    getValue(texts, row.getLong("description_text_id")));
+        }
+    }
+
+    private static @Nullable String getValue(final Map<Long, CheckText> texts, @Nullable final Long textId) {
+        final CheckText text = textId != null ? texts.get(textId) : null;
+        return text != null ? text.getValue() : null;
+    }
+}
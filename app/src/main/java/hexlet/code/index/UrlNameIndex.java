@@ -0,0 +1,100 @@
+package hexlet.code.index;
+
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrl;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.DuplicateKeyException;
+import io.ebean.Transaction;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class UrlNameIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UrlNameIndex.class);
+    private static final Long RESERVED = -1L;
+    private static final Map<String, Long> IDS_BY_NAME = new ConcurrentHashMap<>();
+
+    private UrlNameIndex() {
+    }
+
+    public static void warmUp() {
+        final long start = System.nanoTime();
+
+        new QUrl()
+                .select(QUrl.alias().id, QUrl.alias().name)
+                .findEach(url -> IDS_BY_NAME.putIfAbsent(url.getName(), url.getId()));
+
+        LOGGER.info("Url name index warmed up. [size={}, elapsedMillis={}]",
+                IDS_BY_NAME.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static @Nullable Url insertIfAbsent(final String name) {
+        if (IDS_BY_NAME.putIfAbsent(name, RESERVED) != null) {
+            return null;
+        }
+
+        try {
+            final Url url = new Url(name);
+            url.save();
+            IDS_BY_NAME.put(name, url.getId());
+            return url;
+        } catch (DuplicateKeyException e) {
+            LOGGER.info("Url inserted concurrently by another node. [url={}]", name);
+
+            final Url existing = new QUrl().name.equalTo(name).findOne();
+            if (existing != null) {
+                IDS_BY_NAME.put(name, existing.getId());
+            } else {
+                IDS_BY_NAME.remove(name, RESERVED);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            IDS_BY_NAME.remove(name, RESERVED);
+            throw e;
+        }
+    }
+
+    public static List<Url> insertAllIfAbsent(final Collection<String> names, final int batchSize) {
+        final List<Url> urls = new ArrayList<>();
+        for (String name : names) {
+            if (IDS_BY_NAME.putIfAbsent(name, RESERVED) == null) {
+                urls.add(new Url(name));
+            }
+        }
+
+        if (urls.isEmpty()) {
+            return urls;
+        }
+
+        final Database database = DB.getDefault();
+        try (Transaction transaction = database.createTransaction()) {
+            transaction.setBatchMode(true);
+            transaction.setBatchSize(batchSize);
+            database.saveAll(urls, transaction);
+            transaction.commit();
+        } catch (DuplicateKeyException e) {
+            LOGGER.info("Bulk url insert conflicted with another node, inserting one by one. [size={}]",
+                    urls.size());
+
+            urls.forEach(url -> IDS_BY_NAME.remove(url.getName(), RESERVED));
+            return urls.stream()
+                    .map(url -> insertIfAbsent(url.getName()))
+                    .filter(Objects::nonNull)
+                    .toList();
+        } catch (RuntimeException e) {
+            urls.forEach(url -> IDS_BY_NAME.remove(url.getName(), RESERVED));
+            throw e;
+        }
+
+        urls.forEach(url -> IDS_BY_NAME.put(url.getName(), url.getId()));
+        return urls;
+    }
+}
@@ -0,0 +1,135 @@
+package hexlet.code.metrics;
+
+import hexlet.code.checks.BatchCrawler;
+import hexlet.code.checks.BatchProgress;
+import hexlet.code.checks.CheckExecutor;
+import hexlet.code.checks.CheckScheduler;
+import hexlet.code.checks.CheckWriter;
+import hexlet.code.checks.FetchClient;
+import hexlet.code.controllers.UrlViews;
+import hexlet.code.db.Databases;
+import hexlet.code.events.CheckEvents;
+import hexlet.code.index.SearchIndex;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.datasource.PoolStatus;
+import io.javalin.Javalin;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+public final class AppMetrics {
+    private AppMetrics() {
+    }
+
+    public static void register(final Javalin app) {
+        registerJetty(app);
+        registerFetchPool();
+        registerDatabasePool("db_pool", DB::getDefault);
+        registerDatabasePool("db_replica_pool", Databases::getReplica);
+
+        Metrics.gauge("check_executor_queue_size", "Manual checks waiting in the executor queue.",
+                CheckExecutor::getQueueSize);
+        Metrics.gauge("check_executor_active_threads", "Manual checks currently running.",
+                CheckExecutor::getActiveCount);
+
+        Metrics.gauge("check_write_pending", "Url checks waiting to be written.",
+                CheckWriter::getPendingCount);
+
+        Metrics.gauge("check_scheduler_queue_depth", "Urls waiting for a scheduled check.",
+                () -> CheckScheduler.getStats().queueDepth());
+        Metrics.gauge("check_scheduler_in_flight", "Scheduled checks currently running.",
+                () -> CheckScheduler.getStats().inFlight());
+        Metrics.gauge("check_scheduler_lag_seconds", "Dispatch lag of the last scheduled check.",
+                () -> CheckScheduler.getStats().lastLagMillis() / 1000d);
+        Metrics.counterFunction("check_scheduler_completed_total", "Completed scheduled checks.",
+                () -> CheckScheduler.getStats().completed());
+        Metrics.counterFunction("check_scheduler_failed_total", "Failed scheduled checks.",
+                () -> CheckScheduler.getStats().failed());
+
+        Metrics.counterFunction("view_cache_hits_total", "Url views served from the cache.", UrlViews::getHits);
+        Metrics.counterFunction("view_cache_misses_total", "Url views loaded from the database.", UrlViews::getMisses);
+        Metrics.gauge("view_cache_size", "Url views held in the cache.", UrlViews::size);
+
+        Metrics.gauge("search_index_documents", "Urls in the search index.", SearchIndex::size);
+        Metrics.gauge("search_index_terms", "Distinct terms in the search index.", SearchIndex::getTermCount);
+
+        Metrics.gauge("check_events_subscribers", "Clients subscribed to check events.",
+                CheckEvents::getSubscriberCount);
+        Metrics.counterFunction("check_events_published_total", "Check events published.",
+                CheckEvents::getPublished);
+        Metrics.counterFunction("check_events_dropped_total", "Check events dropped for slow subscribers.",
+                CheckEvents::getDropped);
+        Metrics.counterFunction("check_events_stalled_total", "Check events clients disconnected on write timeout.",
+                CheckEvents::getStalled);
+
+        Metrics.gauge("batch_check_completed", "Completed checks of the current batch.",
+                () -> getBatchValue(BatchProgress::getCompleted));
+        Metrics.gauge("batch_check_failed", "Failed checks of the current batch.",
+                () -> getBatchValue(BatchProgress::getFailed));
+        Metrics.gauge("batch_check_urls_per_second", "Throughput of the current batch.",
+                () -> getBatchValue(BatchProgress::getUrlsPerSecond));
+    }
+
+    private static void registerDatabasePool(final String prefix, final Supplier<Database> database) {
+        Metrics.gauge(prefix + "_busy", "Connections in use.",
+                () -> getPoolValue(database, PoolStatus::getBusy));
+        Metrics.gauge(prefix + "_free", "Idle connections.",
+                () -> getPoolValue(database, PoolStatus::getFree));
+        Metrics.gauge(prefix + "_waiting", "Threads waiting for a connection.",
+                () -> getPoolValue(database, PoolStatus::getWaiting));
+        Metrics.gauge(prefix + "_max", "Maximum connections of the pool.",
+                () -> getPoolValue(database, PoolStatus::getMaxSize));
+    }
+
+    private static double getPoolValue(final Supplier<Database> database, final ToDoubleFunction<PoolStatus> value) {
+        final PoolStatus status = Databases.getPoolStatus(database.get());
+        return status != null ? value.applyAsDouble(status) : 0;
+    }
+
+    private static void registerJetty(final Javalin app) {
+        Metrics.gauge("jetty_threads", "Threads in the jetty pool.",
+                () -> getThreadPool(app).getThreads());
+        Metrics.gauge("jetty_threads_idle", "Idle threads in the jetty pool.",
+                () -> getThreadPool(app).getIdleThreads());
+        Metrics.gauge("jetty_threads_busy", "Busy threads in the jetty pool.",
+                () -> getQueuedValue(app, QueuedThreadPool::getBusyThreads));
+        Metrics.gauge("jetty_threads_max", "Maximum threads of the jetty pool.",
+                () -> getQueuedValue(app, QueuedThreadPool::getMaxThreads));
+        Metrics.gauge("jetty_queue_size", "Jobs waiting in the jetty pool queue.",
+                () -> getQueuedValue(app, QueuedThreadPool::getQueueSize));
+        Metrics.gauge("jetty_utilization", "Used fraction of the jetty pool.",
+                () -> getQueuedValue(app, QueuedThreadPool::getUtilizationRate));
+    }
+
+    private static void registerFetchPool() {
+        Metrics.gauge("fetch_pool_leased", "Connections of the fetch pool in use.",
+                () -> FetchClient.getShared().getPoolStats().getLeased());
+        Metrics.gauge("fetch_pool_available", "Idle keep-alive connections of the fetch pool.",
+                () -> FetchClient.getShared().getPoolStats().getAvailable());
+        Metrics.gauge("fetch_pool_pending", "Requests waiting for a fetch pool connection.",
+                () -> FetchClient.getShared().getPoolStats().getPending());
+        Metrics.gauge("fetch_pool_max", "Maximum connections of the fetch pool.",
+                () -> FetchClient.getShared().getPoolStats().getMax());
+        Metrics.gauge("fetch_circuits_open", "Hosts with an open or half-open circuit.",
+                () -> FetchClient.getShared().getOpenCircuitCount());
+        Metrics.gauge("fetch_dns_cache_size", "Host names in the fetch dns cache.",
+                () -> FetchClient.getShared().getDnsCacheSize());
+    }
+
+    private static ThreadPool getThreadPool(final Javalin app) {
+        return app.jettyServer().server().getThreadPool();
+    }
+
+    // NOTE: у пула виртуальных потоков нет очереди и предела, для него эти значения равны нулю.
+    private static double getQueuedValue(final Javalin app, final ToDoubleFunction<QueuedThreadPool> value) {
+        return getThreadPool(app) instanceof QueuedThreadPool pool ? value.applyAsDouble(pool) : 0;
+    }
+
+    private static double getBatchValue(final ToDoubleFunction<BatchProgress> value) {
+        final BatchProgress progress = BatchCrawler.getProgress();
+        return progress != null ? value.applyAsDouble(progress) : 0;
+    }
+}
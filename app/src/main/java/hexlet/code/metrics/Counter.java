@@ -0,0 +1,42 @@
+package hexlet.code.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+public final class Counter implements Metric {
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final Map<List<String>, DoubleAdder> series = new ConcurrentHashMap<>();
+
+    Counter(final String name, final String help, final String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = List.of(labelNames);
+    }
+
+    public void increment(final String... labelValues) {
+        add(1, labelValues);
+    }
+
+    public void add(final double amount, final String... labelValues) {
+        series.computeIfAbsent(List.of(labelValues), key -> new DoubleAdder()).add(amount);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void render(final StringBuilder out) {
+        Labels.renderHeader(out, name, help, "counter");
+        series.forEach((labelValues, value) -> {
+            out.append(name);
+            Labels.render(out, labelNames, labelValues, null, null);
+            out.append(' ').append(Labels.formatValue(value.sum())).append('\n');
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package hexlet.code.metrics;
+
+import hexlet.code.db.Databases;
+import io.ebean.DB;
+import io.ebean.Database;
+import io.ebean.meta.MetaQueryMetric;
+import io.ebean.meta.MetaTimedMetric;
+import io.ebean.meta.ServerMetrics;
+
+final class EbeanMetrics {
+    private static final double MICROS_PER_SECOND = 1_000_000d;
+
+    private EbeanMetrics() {
+    }
+
+    // NOTE: collectMetrics() возвращает приращения с прошлого сбора и сбрасывает их,
+    // поэтому сбор сериализован и накапливается в собственных счетчиках.
+    static synchronized void collect() {
+        collect(DB.getDefault());
+        final Database replica = Databases.getReplica();
+        if (replica != null) {
+            collect(replica);
+        }
+    }
+
+    private static void collect(final Database database) {
+        final ServerMetrics metrics = database.getMetaInfoManager().collectMetrics();
+
+        for (MetaQueryMetric metric : metrics.getQueryMetrics()) {
+            record(database.getName(), metric);
+        }
+        for (MetaTimedMetric metric : metrics.getTimedMetrics()) {
+            record(database.getName(), metric);
+        }
+    }
+
+    private static void record(final String db, final MetaTimedMetric metric) {
+        if (metric.getCount() == 0) {
+            return;
+        }
+        Metrics.DB_QUERIES.add(metric.getCount(), db, metric.getName());
+        Metrics.DB_QUERY_SECONDS.add(metric.getTotal() / MICROS_PER_SECOND, db, metric.getName());
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.metrics;
+
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+public final class Gauge implements Metric {
+    private final String name;
+    private final String help;
+    private final String type;
+    private final DoubleSupplier value;
+
+    Gauge(final String name, final String help, final String type, final DoubleSupplier value) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.value = value;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void render(final StringBuilder out) {
+        Labels.renderHeader(out, name, help, type);
+        out.append(name);
+        Labels.render(out, List.of(), List.of(), null, null);
+        out.append(' ').append(Labels.formatValue(value.getAsDouble())).append('\n');
+    }
+}
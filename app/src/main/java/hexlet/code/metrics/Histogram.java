@@ -0,0 +1,85 @@
+package hexlet.code.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Histogram implements Metric {
+    private final String name;
+    private final String help;
+    private final double[] buckets;
+    private final List<String> labelNames;
+    private final Map<List<String>, Series> series = new ConcurrentHashMap<>();
+
+    Histogram(final String name, final String help, final double[] buckets, final String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.buckets = buckets.clone();
+        this.labelNames = List.of(labelNames);
+    }
+
+    public void observe(final double value, final String... labelValues) {
+        series.computeIfAbsent(List.of(labelValues), key -> new Series(buckets.length)).observe(value);
+    }
+
+    public void observeNanos(final long nanos, final String... labelValues) {
+        observe(nanos / 1e9, labelValues);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void render(final StringBuilder out) {
+        Labels.renderHeader(out, name, help, "histogram");
+        series.forEach((labelValues, values) -> {
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += values.bucketCounts[i].sum();
+                out.append(name).append("_bucket");
+                Labels.render(out, labelNames, labelValues, "le", Labels.formatValue(buckets[i]));
+                out.append(' ').append(cumulative).append('\n');
+            }
+            final long count = values.count.sum();
+            out.append(name).append("_bucket");
+            Labels.render(out, labelNames, labelValues, "le", "+Inf");
+            out.append(' ').append(count).append('\n');
+
+            out.append(name).append("_sum");
+            Labels.render(out, labelNames, labelValues, null, null);
+            out.append(' ').append(Labels.formatValue(values.sum.sum())).append('\n');
+
+            out.append(name).append("_count");
+            Labels.render(out, labelNames, labelValues, null, null);
+            out.append(' ').append(count).append('\n');
+        });
+    }
+
+    private final class Series {
+        private final LongAdder[] bucketCounts;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Series(final int size) {
+            bucketCounts = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                bucketCounts[i] = new LongAdder();
+            }
+        }
+
+        void observe(final double value) {
+            for (int i = 0; i < buckets.length; i++) {
+                if (value <= buckets[i]) {
+                    bucketCounts[i].increment();
+                    break;
+                }
+            }
+            count.increment();
+            sum.add(value);
+        }
+    }
+}
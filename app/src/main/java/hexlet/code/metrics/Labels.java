@@ -0,0 +1,57 @@
+package hexlet.code.metrics;
+
+import java.util.List;
+
+final class Labels {
+    private Labels() {
+    }
+
+    static void render(final StringBuilder out, final List<String> names, final List<String> values,
+                       final String extraName, final String extraValue) {
+        if (names.isEmpty() && extraName == null) {
+            return;
+        }
+
+        out.append('{');
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendLabel(out, names.get(i), values.get(i));
+        }
+        if (extraName != null) {
+            if (!names.isEmpty()) {
+                out.append(',');
+            }
+            appendLabel(out, extraName, extraValue);
+        }
+        out.append('}');
+    }
+
+    static void renderHeader(final StringBuilder out, final String name, final String help, final String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    static String formatValue(final double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static void appendLabel(final StringBuilder out, final String name, final String value) {
+        out.append(name).append("=\"");
+        final String safeValue = value != null ? value : "";
+        for (int i = 0; i < safeValue.length(); i++) {
+            final char c = safeValue.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,7 @@
+package hexlet.code.metrics;
+
+public interface Metric {
+    String getName();
+
+    void render(StringBuilder out);
+}
@@ -0,0 +1,56 @@
+package hexlet.code.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+public final class Metrics {
+    private static final double[] LATENCY_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    private static final Map<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+
+    public static final Histogram HTTP_REQUESTS = histogram("http_server_request_duration_seconds",
+            "Latency of handled http requests.", "method", "route", "status");
+    public static final Histogram FETCHES = histogram("url_fetch_duration_seconds",
+            "Latency of outbound page fetches.", "host", "status");
+    public static final Counter DB_QUERIES = counter("ebean_query_total",
+            "Number of executed ebean queries.", "db", "query");
+    public static final Counter DB_QUERY_SECONDS = counter("ebean_query_seconds_total",
+            "Total time spent in ebean queries.", "db", "query");
+
+    private Metrics() {
+    }
+
+    public static Histogram histogram(final String name, final String help, final String... labelNames) {
+        return histogram(name, help, LATENCY_BUCKETS, labelNames);
+    }
+
+    public static Histogram histogram(final String name, final String help, final double[] buckets,
+                                      final String... labelNames) {
+        return register(new Histogram(name, help, buckets, labelNames));
+    }
+
+    public static Counter counter(final String name, final String help, final String... labelNames) {
+        return register(new Counter(name, help, labelNames));
+    }
+
+    public static Gauge gauge(final String name, final String help, final DoubleSupplier value) {
+        return register(new Gauge(name, help, "gauge", value));
+    }
+
+    public static Gauge counterFunction(final String name, final String help, final DoubleSupplier value) {
+        return register(new Gauge(name, help, "counter", value));
+    }
+
+    public static String scrape() {
+        EbeanMetrics.collect();
+
+        final StringBuilder out = new StringBuilder();
+        REGISTRY.values().forEach(metric -> metric.render(out));
+        return out.toString();
+    }
+
+    private static <T extends Metric> T register(final T metric) {
+        REGISTRY.put(metric.getName(), metric);
+        return metric;
+    }
+}
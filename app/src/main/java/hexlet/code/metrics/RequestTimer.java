@@ -0,0 +1,30 @@
+package hexlet.code.metrics;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+
+public final class RequestTimer {
+    private static final String START_ATTRIBUTE = "metrics-start";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    public static Handler start = ctx -> ctx.attribute(START_ATTRIBUTE, System.nanoTime());
+
+    public static Handler stop = ctx -> {
+        final Long start = ctx.attribute(START_ATTRIBUTE);
+
+        if (start == null) {
+            return;
+        }
+
+        Metrics.HTTP_REQUESTS.observeNanos(System.nanoTime() - start,
+                ctx.method().name(), getRoute(ctx), Integer.toString(ctx.statusCode()));
+    };
+
+    private RequestTimer() {
+    }
+
+    private static String getRoute(final Context ctx) {
+        final String route = ctx.endpointHandlerPath();
+        return route == null || route.isEmpty() || route.equals("*") ? UNMATCHED_ROUTE : route;
+    }
+}
@@ -0,0 +1,2 @@
+-- apply changes
+alter table url_check add column skip_reason varchar(32);
@@ -0,0 +1,5 @@
+-- apply changes
+alter table url_check add column etag varchar(255);
+alter table url_check add column last_modified varchar(255);
+alter table url_check add column content_hash varchar(64);
+alter table url_check add column unchanged boolean default false not null;
@@ -0,0 +1,9 @@
+-- apply changes
+alter table url add column last_check_status_code integer;
+alter table url add column last_checked_at timestamp;
+
+-- backfill
+update url set
+  last_check_status_code = (select uc.status_code from url_check uc where uc.url_id = url.id
+                            order by uc.created_at desc, uc.id desc fetch first 1 rows only),
+  last_checked_at = (select max(uc.created_at) from url_check uc where uc.url_id = url.id);
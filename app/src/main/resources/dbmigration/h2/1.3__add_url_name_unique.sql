@@ -0,0 +1,16 @@
+-- remove duplicates, keeping the first url
+update url_check set url_id = (
+  select min(other.id) from url original join url other on other.name = original.name
+  where original.id = url_check.url_id
+);
+delete from url where id not in (select min(id) from url group by name);
+
+-- the kept url takes over the checks of its duplicates, so its last check is computed again
+update url set
+  last_check_status_code = (select uc.status_code from url_check uc where uc.url_id = url.id
+                            order by uc.created_at desc, uc.id desc fetch first 1 rows only),
+  last_checked_at = (select max(uc.created_at) from url_check uc where uc.url_id = url.id)
+where exists (select 1 from url_check uc where uc.url_id = url.id);
+
+-- apply changes
+alter table url add constraint uq_url_name unique (name);
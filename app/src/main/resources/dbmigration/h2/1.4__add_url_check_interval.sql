@@ -0,0 +1,2 @@
+-- apply changes
+alter table url add column check_interval_minutes integer;
@@ -0,0 +1,12 @@
+-- apply changes
+alter table url_check add column canonical varchar(2048);
+alter table url_check add column robots varchar(255);
+alter table url_check add column og_title varchar(255);
+alter table url_check add column og_description clob;
+alter table url_check add column og_image varchar(2048);
+alter table url_check add column h1_count integer;
+alter table url_check add column internal_links integer;
+alter table url_check add column external_links integer;
+alter table url_check add column word_count integer;
+alter table url_check add column response_time_millis bigint;
+alter table url_check add column content_length bigint;
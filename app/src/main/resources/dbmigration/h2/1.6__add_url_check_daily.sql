@@ -0,0 +1,17 @@
+-- apply changes
+create table url_check_daily (
+  id                            bigint generated by default as identity not null,
+  url_id                        bigint not null,
+  check_date                    date not null,
+  check_count                   integer not null,
+  success_count                 integer not null,
+  timed_count                   integer not null,
+  response_time_sum             bigint not null,
+  response_time_max             bigint,
+  constraint uq_url_check_daily_url_id_check_date unique (url_id,check_date),
+  constraint pk_url_check_daily primary key (id)
+);
+
+create index ix_url_check_daily_url_id on url_check_daily (url_id);
+alter table url_check_daily add constraint fk_url_check_daily_url_id foreign key (url_id) references url (id) on delete restrict on update restrict;
+
@@ -0,0 +1,3 @@
+-- apply changes
+create index ix_url_created_at on url (created_at);
+create index ix_url_check_created_at on url_check (created_at);
@@ -0,0 +1,17 @@
+-- remove duplicates, keeping the first url
+update url_check set url_id = (
+  select min(other.id) from url original join url other on other.name = original.name
+  where original.id = url_check.url_id
+);
+delete from url where id not in (select min(id) from url group by name);
+
+-- the kept url takes over the checks of its duplicates, so its last check is computed again
+update url set
+  last_check_status_code = latest.status_code,
+  last_checked_at = latest.created_at
+from (select distinct on (uc.url_id) uc.url_id, uc.status_code, uc.created_at from url_check uc
+      order by uc.url_id, uc.created_at desc, uc.id desc) latest
+where latest.url_id = url.id;
+
+-- apply changes
+alter table url add constraint uq_url_name unique (name);
@@ -0,0 +1,15 @@
+-- apply changes
+create table check_job (
+  id                            bigint generated by default as identity not null,
+  url_id                        bigint not null,
+  due_at                        timestamptz not null,
+  failures                      integer not null,
+  locked_by                     varchar(100),
+  locked_until                  timestamptz,
+  constraint uq_check_job_url_id unique (url_id),
+  constraint pk_check_job primary key (id)
+);
+
+create index ix_check_job_due_at on check_job (due_at);
+alter table check_job add constraint fk_check_job_url_id foreign key (url_id) references url (id) on delete restrict on update restrict;
+
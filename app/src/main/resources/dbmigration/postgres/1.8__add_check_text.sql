@@ -0,0 +1,51 @@
+-- apply changes
+create table check_text (
+  id                            bigint generated by default as identity not null,
+  hash                          varchar(64) not null,
+  compressed                    boolean default false not null,
+  content                       bytea not null,
+  constraint uq_check_text_hash unique (hash),
+  constraint pk_check_text primary key (id)
+);
+
+alter table url_check add column title_text_id bigint;
+alter table url_check add column h1_text_id bigint;
+alter table url_check add column description_text_id bigint;
+
+-- convert existing values, they are stored uncompressed
+insert into check_text (hash, compressed, content)
+select distinct encode(sha256(convert_to(v.value, 'UTF8')), 'hex'), false, convert_to(v.value, 'UTF8')
+from (
+  select title as value from url_check
+  union select h1 from url_check
+  union select description from url_check
+) v
+where v.value is not null;
+
+update url_check c set
+  title_text_id = t.id
+from check_text t
+where t.hash = encode(sha256(convert_to(c.title, 'UTF8')), 'hex');
+
+update url_check c set
+  h1_text_id = t.id
+from check_text t
+where t.hash = encode(sha256(convert_to(c.h1, 'UTF8')), 'hex');
+
+update url_check c set
+  description_text_id = t.id
+from check_text t
+where t.hash = encode(sha256(convert_to(c.description, 'UTF8')), 'hex');
+
+alter table url_check drop column title;
+alter table url_check drop column h1;
+alter table url_check drop column description;
+
+create index ix_url_check_title_text_id on url_check (title_text_id);
+alter table url_check add constraint fk_url_check_title_text_id foreign key (title_text_id) references check_text (id) on delete restrict on update restrict;
+
+create index ix_url_check_h1_text_id on url_check (h1_text_id);
+alter table url_check add constraint fk_url_check_h1_text_id foreign key (h1_text_id) references check_text (id) on delete restrict on update restrict;
+
+create index ix_url_check_description_text_id on url_check (description_text_id);
+alter table url_check add constraint fk_url_check_description_text_id foreign key (description_text_id) references check_text (id) on delete restrict on update restrict;
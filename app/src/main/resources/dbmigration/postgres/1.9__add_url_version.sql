@@ -0,0 +1,2 @@
+-- apply changes
+alter table url add column version bigint default 0 not null;
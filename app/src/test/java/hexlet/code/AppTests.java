@@ -1,10 +1,13 @@
 package hexlet.code;
 
+import hexlet.code.checks.CheckScheduler;
 import hexlet.code.domain.Url;
 import hexlet.code.domain.UrlCheck;
 import hexlet.code.domain.query.QUrl;
 import hexlet.code.domain.query.QUrlCheck;
+import hexlet.code.index.SearchIndex;
 import io.ebean.DB;
+import io.ebean.PersistenceContextScope;
 import io.ebean.Transaction;
 import io.javalin.Javalin;
 import kong.unirest.Empty;
@@ -34,6 +37,9 @@ class AppTests {
     private static UrlCheck existingUrlCheck;
     private static Transaction transaction;
     private static MockWebServer mockServer;
+    private static final long CHECK_TIMEOUT_MILLIS = 5000;
+    private static final long CHECK_POLL_MILLIS = 50;
+    private static final int CONCURRENT_REQUESTS = 8;
 
     private static Path getFixturePath(final String fileName) {
         return Paths.get("src", "test", "resources", "fixtures", fileName)
@@ -45,6 +51,16 @@ class AppTests {
         return Files.readString(filePath).trim();
     }
 
+    private static UrlCheck awaitCheck(final Url url) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + CHECK_TIMEOUT_MILLIS;
+        UrlCheck urlCheck = new QUrlCheck().url.equalTo(url).findOne();
+        while (urlCheck == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(CHECK_POLL_MILLIS);
+            urlCheck = new QUrlCheck().url.equalTo(url).findOne();
+        }
+        return urlCheck;
+    }
+
     @BeforeAll
     public static void beforeAll() throws IOException {
         app = App.getApp();
@@ -82,6 +98,22 @@ class AppTests {
             assertThat(response.getStatus()).isEqualTo(200);
             assertThat(response.getBody()).contains("Анализатор страниц");
         }
+
+        @Test
+        void testMetrics() {
+            Unirest.get(baseUrl + "/urls/" + existingUrl.getId()).asEmpty();
+
+            final HttpResponse<String> response = Unirest.get(baseUrl + "/metrics").asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaders().getFirst("Content-Type")).startsWith("text/plain");
+            assertThat(response.getBody())
+                    .contains("# TYPE http_server_request_duration_seconds histogram")
+                    .contains("http_server_request_duration_seconds_count{method=\"GET\",route=\"/urls/{id}\","
+                            + "status=\"200\"}")
+                    .contains("jetty_threads ")
+                    .contains("ebean_query_total{");
+        }
     }
 
     @Nested
@@ -99,6 +131,41 @@ class AppTests {
                     .contains(String.valueOf(existingUrlCheck.getStatusCode()));
         }
 
+        @Test
+        void testShowUrlsByCursor() {
+            final HttpResponse<String> responseAfter = Unirest
+                    .get(baseUrl + "/urls?after=" + existingUrl.getId() + "&page=2")
+                    .asString();
+
+            assertThat(responseAfter.getStatus()).isEqualTo(200);
+            assertThat(responseAfter.getBody()).doesNotContain(existingUrl.getName());
+
+            final HttpResponse<String> responseBefore = Unirest
+                    .get(baseUrl + "/urls?before=" + (existingUrl.getId() + 1))
+                    .asString();
+
+            assertThat(responseBefore.getStatus()).isEqualTo(200);
+            assertThat(responseBefore.getBody()).contains(existingUrl.getName());
+        }
+
+        @Test
+        void testShowUrlsPageWithoutCursor() {
+            final HttpResponse<String> firstPage = Unirest
+                    .get(baseUrl + "/urls?page=1")
+                    .asString();
+            final HttpResponse<String> farPage = Unirest
+                    .get(baseUrl + "/urls?page=1000000")
+                    .asString();
+
+            assertThat(firstPage.getStatus()).isEqualTo(200);
+            assertThat(firstPage.getBody()).contains(existingUrl.getName());
+            assertThat(Unirest.get(baseUrl + "/urls?page=2").asEmpty().getStatus()).isEqualTo(200);
+            assertThat(farPage.getStatus()).isEqualTo(200);
+            assertThat(farPage.getBody()).contains(existingUrl.getName());
+            assertThat(Unirest.get(baseUrl + "/urls?after=0&skip=100000000").asEmpty().getStatus())
+                    .isEqualTo(200);
+        }
+
         @Test
         void testShowUrl() {
             HttpResponse<String> response = Unirest
@@ -165,6 +232,22 @@ class AppTests {
             assertThat(actualUrl.getName()).isEqualTo(URL);
         }
 
+        @Test
+        void testCreateConcurrently() throws InterruptedException {
+            final String inputUrl = "https://www.wikipedia.org";
+            final Thread[] threads = new Thread[CONCURRENT_REQUESTS];
+
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> Unirest.post(baseUrl + "/urls").field("url", inputUrl).asEmpty());
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertThat(new QUrl().name.equalTo(inputUrl).findCount()).isEqualTo(1);
+        }
+
         @Test
         void testCreateIfBadUrl() {
             final String inputUrl = "bad-url";
@@ -192,7 +275,116 @@ class AppTests {
         }
 
         @Test
-        void testChecks() {
+        void testUpdateSchedule() {
+            final HttpResponse<Empty> response = Unirest
+                    .post(baseUrl + "/urls/" + existingUrl.getId() + "/schedule")
+                    .field("interval", "60")
+                    .asEmpty();
+
+            assertThat(response.getStatus()).isEqualTo(302);
+
+            final Url actualUrl = new QUrl()
+                    .id.equalTo(existingUrl.getId())
+                    .setPersistenceContextScope(PersistenceContextScope.QUERY)
+                    .findOne();
+
+            assertThat(actualUrl).isNotNull();
+            assertThat(actualUrl.getCheckIntervalMinutes()).isEqualTo(60);
+        }
+
+        @Test
+        void testUpdateScheduleRejectsTooLongInterval() {
+            final HttpResponse<Empty> response = Unirest
+                    .post(baseUrl + "/urls/" + existingUrl.getId() + "/schedule")
+                    .field("interval", Integer.toString(CheckScheduler.MAX_INTERVAL_MINUTES + 1))
+                    .asEmpty();
+
+            assertThat(response.getStatus()).isEqualTo(400);
+        }
+
+        @Test
+        void testShowUrlNotModified() {
+            final String showUrl = baseUrl + "/urls/" + existingUrl.getId();
+            Unirest.get(showUrl).asEmpty();
+
+            final String etag = Unirest.get(showUrl).asEmpty().getHeaders().getFirst("ETag");
+
+            assertThat(etag).isNotBlank();
+            assertThat(Unirest.get(showUrl).header("If-None-Match", etag).asEmpty().getStatus())
+                    .isEqualTo(304);
+
+            Unirest.post(showUrl + "/schedule").field("interval", "30").asEmpty();
+            final HttpResponse<String> response = Unirest.get(showUrl).header("If-None-Match", etag).asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getBody()).contains("30");
+        }
+
+        @Test
+        void testShowUrlChangedByOtherNode() {
+            final String showUrl = baseUrl + "/urls/" + existingUrl.getId();
+            final String etag = Unirest.get(showUrl).asEmpty().getHeaders().getFirst("ETag");
+
+            try (Transaction other = DB.createTransaction()) {
+                DB.getDefault().execute(DB.sqlUpdate("update url set version = version + 1 where id = :id")
+                        .setParameter("id", existingUrl.getId()), other);
+                other.commit();
+            }
+
+            assertThat(Unirest.get(showUrl).header("If-None-Match", etag).asEmpty().getStatus())
+                    .isEqualTo(200);
+        }
+
+        @Test
+        void testListUrlsChangedByOtherNode() {
+            final String listUrls = baseUrl + "/urls";
+            final String etag = Unirest.get(listUrls).asEmpty().getHeaders().getFirst("ETag");
+
+            try (Transaction other = DB.createTransaction()) {
+                DB.getDefault().execute(DB.sqlUpdate("update url set version = version + 1 where id = :id")
+                        .setParameter("id", existingUrl.getId()), other);
+                other.commit();
+            }
+
+            assertThat(Unirest.get(listUrls).header("If-None-Match", etag).asEmpty().getStatus())
+                    .isEqualTo(200);
+        }
+
+        @Test
+        void testShowUrlOlderChecks() {
+            final HttpResponse<String> response = Unirest
+                    .get(baseUrl + "/urls/" + existingUrl.getId() + "?checksBefore=" + existingUrlCheck.getId())
+                    .asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getBody()).contains("Последние проверки");
+            assertThat(response.getBody()).doesNotContain(existingUrlCheck.getTitle());
+        }
+
+        @Test
+        void testSearchUrls() {
+            SearchIndex.rebuild();
+
+            final HttpResponse<String> response = Unirest.get(baseUrl + "/urls?q=githu").asString();
+            final HttpResponse<String> missing = Unirest.get(baseUrl + "/urls?q=nothing-like-this").asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getBody()).contains(">" + URL + "<");
+            assertThat(missing.getStatus()).isEqualTo(200);
+            assertThat(missing.getBody()).doesNotContain(">" + URL + "<");
+        }
+
+        @Test
+        void testCheckNotFound() {
+            final HttpResponse<Empty> response = Unirest
+                    .post(baseUrl + "/urls/" + Long.MAX_VALUE + "/checks")
+                    .asEmpty();
+
+            assertThat(response.getStatus()).isEqualTo(404);
+        }
+
+        @Test
+        void testChecks() throws InterruptedException {
             final String url = mockServer.url("/").toString().replaceAll("/$", "");
 
             Unirest.post(baseUrl + "/urls")
@@ -213,15 +405,89 @@ class AppTests {
             final String body = response.getBody();
 
             assertThat(response.getStatus()).isEqualTo(200);
-            assertThat(body).contains("Страница успешно проверена");
+            assertThat(body).contains("Проверка страницы запущена");
 
-            final UrlCheck actualCheckUrl = new QUrlCheck().url.equalTo(actualUrl).findOne();
+            final UrlCheck actualCheckUrl = awaitCheck(actualUrl);
 
             assertThat(actualCheckUrl).isNotNull();
             assertThat(actualCheckUrl.getStatusCode()).isEqualTo(200);
             assertThat(actualCheckUrl.getTitle()).isEqualTo("Test page");
             assertThat(actualCheckUrl.getH1()).isEqualTo("Do not expect a miracle, miracles yourself!");
             assertThat(actualCheckUrl.getDescription()).contains("statements of great people");
+            assertThat(actualCheckUrl.getH1Count()).isEqualTo(1);
+            assertThat(actualCheckUrl.getWordCount()).isPositive();
+            assertThat(actualCheckUrl.getResponseTimeMillis()).isNotNull();
+
+            final Url checkedUrl = new QUrl()
+                    .id.equalTo(actualUrl.getId())
+                    .setPersistenceContextScope(PersistenceContextScope.QUERY)
+                    .findOne();
+
+            assertThat(checkedUrl).isNotNull();
+            assertThat(checkedUrl.getLastCheckStatusCode()).isEqualTo(200);
+            assertThat(checkedUrl.getLastCheckedAt()).isEqualTo(actualCheckUrl.getCreatedAt());
+        }
+    }
+
+    @Nested
+    class ApiTest {
+        @Test
+        void testListUrls() {
+            final HttpResponse<String> response = Unirest
+                    .get(baseUrl + "/api/urls")
+                    .asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaders().getFirst("Content-Type")).startsWith("application/x-ndjson");
+            assertThat(response.getBody().lines().findFirst()).hasValueSatisfying(line -> assertThat(line)
+                    .contains("\"id\":" + existingUrl.getId())
+                    .contains(existingUrl.getName()));
+        }
+
+        @Test
+        void testShowUrl() {
+            final HttpResponse<String> response = Unirest
+                    .get(baseUrl + "/api/urls/" + existingUrl.getId())
+                    .asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getBody()).contains(existingUrl.getName());
+        }
+
+        @Test
+        void testShowUrlNotFound() {
+            final HttpResponse<String> response = Unirest
+                    .get(baseUrl + "/api/urls/" + Long.MAX_VALUE)
+                    .asString();
+
+            assertThat(response.getStatus()).isEqualTo(404);
+        }
+
+        @Test
+        void testListUrlChecks() {
+            final HttpResponse<String> response = Unirest
+                    .get(baseUrl + "/api/urls/" + existingUrl.getId() + "/checks")
+                    .asString();
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getBody()).contains(existingUrlCheck.getTitle());
+        }
+
+        @Test
+        void testImportUrls() {
+            final HttpResponse<String> response = Unirest
+                    .post(baseUrl + "/api/urls")
+                    .body("[\"https://import-one.example.com/path\", \"https://import-two.example.com\", "
+                            + "\"" + URL + "\", \"bad-url\"]")
+                    .asString();
+
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getBody())
+                    .contains("\"created\":2")
+                    .contains("\"existing\":1")
+                    .contains("bad-url");
+            assertThat(new QUrl().name.equalTo("https://import-one.example.com").findOne()).isNotNull();
+            assertThat(new QUrl().name.equalTo("https://import-two.example.com").findOne()).isNotNull();
         }
     }
 }
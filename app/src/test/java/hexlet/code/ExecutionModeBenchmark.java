@@ -0,0 +1,218 @@
+package hexlet.code;
+
+import hexlet.code.checks.CheckExecutor;
+import hexlet.code.checks.CheckStatus;
+import hexlet.code.concurrent.ExecutionMode;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrlCheck;
+import io.javalin.Javalin;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// NOTE: оба режима запускаются в отдельных JVM через App.getApp() с одинаковой нагрузкой: один и тот же
+// клиент отправляет проверки медленного сайта с одинаковой параллельностью, а режим меняет только сервер.
+public final class ExecutionModeBenchmark {
+    private static final int DEFAULT_URLS = 1000;
+    private static final int DEFAULT_CONCURRENCY = 200;
+    private static final int DEFAULT_LATENCY_MILLIS = 200;
+    private static final int TOP_PINNED_FRAMES = 5;
+    private static final int BAD_REQUEST = 400;
+    private static final long DRAIN_TIMEOUT_SECONDS = 300;
+    private static final long POLL_MILLIS = 50;
+    private static final String MODE_RUN = "--mode-run";
+
+    private ExecutionModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final boolean modeRun = args.length > 0 && args[0].equals(MODE_RUN);
+        final int offset = modeRun ? 1 : 0;
+        final int urls = args.length > offset ? Integer.parseInt(args[offset]) : DEFAULT_URLS;
+        final int concurrency = args.length > offset + 1 ? Integer.parseInt(args[offset + 1]) : DEFAULT_CONCURRENCY;
+        final int latencyMillis = args.length > offset + 2
+                ? Integer.parseInt(args[offset + 2])
+                : DEFAULT_LATENCY_MILLIS;
+
+        if (modeRun) {
+            run(urls, concurrency, latencyMillis);
+            return;
+        }
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            fork(mode, urls, concurrency, latencyMillis);
+        }
+    }
+
+    // NOTE: режим читается из окружения при создании приложения, а пиковое число потоков
+    // и закрепления считаются на всю JVM, поэтому каждый режим получает свой процесс.
+    private static void fork(final ExecutionMode mode, final int urls, final int concurrency,
+                             final int latencyMillis) throws IOException, InterruptedException {
+        final ProcessBuilder builder = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                ExecutionModeBenchmark.class.getName(), MODE_RUN,
+                String.valueOf(urls), String.valueOf(concurrency), String.valueOf(latencyMillis))
+                .inheritIO();
+        final Map<String, String> environment = builder.environment();
+        environment.put("EXECUTION_MODE", mode.name().toLowerCase(Locale.ROOT));
+        environment.put("CHECK_QUEUE_CAPACITY", String.valueOf(urls));
+        environment.put("FETCH_MAX_CONNECTIONS", String.valueOf(concurrency));
+        environment.put("FETCH_MAX_CONNECTIONS_PER_HOST", String.valueOf(concurrency));
+
+        final int exitCode = builder.start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Benchmark run failed. [mode=" + mode + ", exitCode=" + exitCode + "]");
+        }
+    }
+
+    private static void run(final int urls, final int concurrency, final int latencyMillis)
+            throws IOException, InterruptedException {
+        final MockWebServer target = new MockWebServer();
+        target.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse()
+                        .setBody("<html><head><title>bench</title></head><body><h1>bench</h1></body></html>")
+                        .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        target.start();
+
+        final Pinning pinning = new Pinning();
+        final Javalin app = App.getApp();
+        app.start(0);
+
+        try {
+            final List<Long> ids = new ArrayList<>(urls);
+            for (int i = 0; i < urls; i++) {
+                final Url url = new Url(target.url("/page-" + i).toString());
+                url.save();
+                ids.add(url.getId());
+            }
+
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            final long start = System.nanoTime();
+            final long errors = submitChecks("http://localhost:" + app.port(), ids, concurrency);
+            final long submittedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            awaitChecks(ids);
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            final int written = new QUrlCheck().url.id.in(ids).findCount();
+
+            System.out.printf("%-8s urls=%d concurrency=%d latencyMillis=%d submitMillis=%d elapsedMillis=%d "
+                            + "checksPerSecond=%.1f written=%d errors=%d peakPlatformThreads=%d "
+                            + "pinnedEvents=%d pinnedMillis=%d%n",
+                    ExecutionMode.fromEnv(), urls, concurrency, latencyMillis, submittedMillis, elapsedMillis,
+                    written * 1000.0 / Math.max(elapsedMillis, 1), written, errors, threads.getPeakThreadCount(),
+                    pinning.events.sum(), pinning.nanos.sum() / 1_000_000);
+            pinning.frames.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                            (left, right) -> Long.compare(right.sum(), left.sum())))
+                    .limit(TOP_PINNED_FRAMES)
+                    .forEach(entry -> System.out.printf("         pinned at %s count=%d%n",
+                            entry.getKey(), entry.getValue().sum()));
+        } finally {
+            pinning.close();
+            app.stop();
+            target.shutdown();
+        }
+    }
+
+    private static long submitChecks(final String baseUrl, final List<Long> ids, final int concurrency)
+            throws InterruptedException {
+        final LongAdder errors = new LongAdder();
+        final Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final HttpClient client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .executor(executor)
+                    .build();
+            for (long id : ids) {
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        final HttpResponse<Void> response = client.send(HttpRequest
+                                .newBuilder(URI.create(baseUrl + "/urls/" + id + "/checks"))
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= BAD_REQUEST) {
+                            errors.increment();
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        errors.increment();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return errors.sum();
+    }
+
+    private static void awaitChecks(final List<Long> ids) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline
+                && ids.stream().anyMatch(id -> CheckExecutor.getStatus(id) == CheckStatus.PENDING)) {
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    // NOTE: Unirest работает поверх Apache HttpClient 4, а H2 и часть пула соединений используют synchronized.
+    // Виртуальный поток, заблокированный внутри такого блока, закрепляет поток-носитель, поэтому закрепления
+    // считаются через JFR вместе с местом в коде приложения или библиотеки.
+    private static final class Pinning implements AutoCloseable {
+        private final RecordingStream stream = new RecordingStream();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final Map<String, LongAdder> frames = new ConcurrentHashMap<>();
+
+        Pinning() {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            stream.startAsync();
+        }
+
+        private void onPinned(final RecordedEvent event) {
+            events.increment();
+            nanos.add(event.getDuration().toNanos());
+            if (event.getStackTrace() == null) {
+                return;
+            }
+            event.getStackTrace().getFrames().stream()
+                    .filter(RecordedFrame::isJavaFrame)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                    .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk."))
+                    .findFirst()
+                    .ifPresent(frame -> frames.computeIfAbsent(frame, ignored -> new LongAdder()).increment());
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+}
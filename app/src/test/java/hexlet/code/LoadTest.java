@@ -0,0 +1,254 @@
+package hexlet.code;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrl;
+import io.javalin.Javalin;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LoadTest {
+    private static final int OK = 200;
+    private static final int SERVER_ERROR = 500;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final double P999 = 0.999;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Settings settings;
+    private final List<String> routes;
+    private final Map<String, Route> results = new ConcurrentHashMap<>();
+    private final AtomicLong created = new AtomicLong();
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String baseUrl;
+    private final List<Long> targetIds;
+
+    record Settings(int durationSeconds, int requestsPerSecond, int targets, int targetLatencyMillis,
+                    int targetBodyBytes, double targetErrorRate, String mix, String output) {
+        static Settings fromEnv() {
+            return new Settings(
+                    Integer.parseInt(System.getenv().getOrDefault("LOAD_TEST_DURATION_SECONDS", "30")),
+                    Integer.parseInt(System.getenv().getOrDefault("LOAD_TEST_REQUESTS_PER_SECOND", "200")),
+                    Integer.parseInt(System.getenv().getOrDefault("LOAD_TEST_TARGETS", "20")),
+                    Integer.parseInt(System.getenv().getOrDefault("LOAD_TEST_TARGET_LATENCY_MILLIS", "50")),
+                    Integer.parseInt(System.getenv().getOrDefault("LOAD_TEST_TARGET_BODY_BYTES", "20000")),
+                    Double.parseDouble(System.getenv().getOrDefault("LOAD_TEST_TARGET_ERROR_RATE", "0.05")),
+                    System.getenv().getOrDefault("LOAD_TEST_MIX", "list:50,show:30,create:10,check:10"),
+                    System.getenv().getOrDefault("LOAD_TEST_OUTPUT", "build/reports/load-test/results.json"));
+        }
+    }
+
+    record RouteResult(long requests, long errors, double requestsPerSecond, double p50Millis, double p99Millis,
+                       double p999Millis, double maxMillis) {
+    }
+
+    record Report(Instant startedAt, Settings settings, Map<String, RouteResult> routes) {
+    }
+
+    private static final class Route {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private LoadTest(final Settings settings, final String baseUrl, final List<Long> targetIds) {
+        this.settings = settings;
+        this.routes = parseMix(settings.mix());
+        this.baseUrl = baseUrl;
+        this.targetIds = targetIds;
+        this.client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final Settings settings = Settings.fromEnv();
+        final List<MockWebServer> targets = startTargets(settings);
+        final Javalin app = App.getApp();
+        app.start(0);
+
+        try {
+            final String baseUrl = "http://localhost:" + app.port();
+            final LoadTest loadTest = new LoadTest(settings, baseUrl, createTargetUrls(baseUrl, targets));
+            final Instant startedAt = Instant.now();
+            final Map<String, RouteResult> routes = loadTest.run();
+
+            final Path output = Path.of(settings.output());
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            MAPPER.writeValue(output.toFile(), new Report(startedAt, settings, routes));
+
+            routes.forEach((route, result) -> System.out.printf(
+                    "%-8s requests=%d errors=%d rps=%.1f p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n",
+                    route, result.requests(), result.errors(), result.requestsPerSecond(), result.p50Millis(),
+                    result.p99Millis(), result.p999Millis(), result.maxMillis()));
+            System.out.println("Results written to " + output.toAbsolutePath());
+        } finally {
+            app.stop();
+            for (MockWebServer target : targets) {
+                target.shutdown();
+            }
+        }
+    }
+
+    private static List<MockWebServer> startTargets(final Settings settings) throws IOException {
+        final String body = createBody(settings.targetBodyBytes());
+        final List<MockWebServer> targets = new ArrayList<>();
+        for (int i = 0; i < settings.targets(); i++) {
+            final MockWebServer target = new MockWebServer();
+            target.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) {
+                    final boolean error = ThreadLocalRandom.current().nextDouble() < settings.targetErrorRate();
+                    return new MockResponse()
+                            .setResponseCode(error ? SERVER_ERROR : OK)
+                            .setBody(body)
+                            .setHeadersDelay(settings.targetLatencyMillis(), TimeUnit.MILLISECONDS);
+                }
+            });
+            target.start();
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    private static String createBody(final int bytes) {
+        final StringBuilder body = new StringBuilder("<html><head><title>Load target</title>"
+                + "<meta name=\"description\" content=\"stand-in site\"></head><body><h1>Load target</h1>");
+        while (body.length() < bytes) {
+            body.append("<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</p>");
+        }
+        return body.append("</body></html>").toString();
+    }
+
+    private static List<Long> createTargetUrls(final String baseUrl, final List<MockWebServer> targets)
+            throws IOException, InterruptedException {
+        final HttpClient client = HttpClient.newHttpClient();
+        for (MockWebServer target : targets) {
+            final String name = target.url("/").toString();
+            client.send(form(baseUrl + "/urls", "url=" + URLEncoder.encode(name, StandardCharsets.UTF_8)),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        return targets.stream()
+                .map(target -> target.url("/").toString().replaceAll("/$", ""))
+                .map(name -> new QUrl().name.equalTo(name).findOne())
+                .filter(Objects::nonNull)
+                .map(Url::getId)
+                .toList();
+    }
+
+    private static HttpRequest form(final String uri, final String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static List<String> parseMix(final String mix) {
+        final List<String> routes = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            for (int i = 0; i < Integer.parseInt(parts[1]); i++) {
+                routes.add(parts[0]);
+            }
+        }
+        return routes;
+    }
+
+    // NOTE: запросы отправляются по расписанию, а не после ответа на предыдущий, и задержка считается
+    // от запланированного времени, поэтому замедление сервера не занижает перцентили.
+    private Map<String, RouteResult> run() throws InterruptedException {
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.requestsPerSecond();
+        final long total = (long) settings.durationSeconds() * settings.requestsPerSecond();
+        final long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            final long scheduledAt = start + i * intervalNanos;
+            final long delay = scheduledAt - System.nanoTime();
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+            final String route = routes.get(ThreadLocalRandom.current().nextInt(routes.size()));
+            send(route, scheduledAt);
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        final double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        final Map<String, RouteResult> report = new LinkedHashMap<>();
+        results.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> report.put(entry.getKey(), summarize(entry.getValue(), elapsedSeconds)));
+        return report;
+    }
+
+    private void send(final String route, final long scheduledAt) {
+        final Route result = results.computeIfAbsent(route, key -> new Route());
+        client.sendAsync(createRequest(route), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    result.latencies.add(System.nanoTime() - scheduledAt);
+                    if (e != null || response.statusCode() >= SERVER_ERROR) {
+                        result.errors.increment();
+                    }
+                });
+    }
+
+    private HttpRequest createRequest(final String route) {
+        final long targetId = targetIds.get(ThreadLocalRandom.current().nextInt(targetIds.size()));
+        return switch (route) {
+            case "list" -> HttpRequest.newBuilder(URI.create(baseUrl + "/urls")).GET().build();
+            case "show" -> HttpRequest.newBuilder(URI.create(baseUrl + "/urls/" + targetId)).GET().build();
+            case "create" -> form(baseUrl + "/urls",
+                    "url=https%3A%2F%2Fload-" + created.incrementAndGet() + ".example.com");
+            case "check" -> form(baseUrl + "/urls/" + targetId + "/checks", "");
+            default -> throw new IllegalArgumentException("Unknown route: " + route);
+        };
+    }
+
+    private static RouteResult summarize(final Route route, final double elapsedSeconds) {
+        final long[] latencies = route.latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(latencies);
+        return new RouteResult(latencies.length, route.errors.sum(), latencies.length / elapsedSeconds,
+                percentile(latencies, P50), percentile(latencies, P99), percentile(latencies, P999),
+                latencies.length > 0 ? latencies[latencies.length - 1] / NANOS_PER_MILLI : 0);
+    }
+
+    private static double percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+    }
+}
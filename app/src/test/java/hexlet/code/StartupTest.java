@@ -0,0 +1,97 @@
+package hexlet.code;
+
+import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupTest {
+    private static final long STARTUP_BUDGET_MILLIS = 20_000;
+    private static final long MIGRATE_TIMEOUT_SECONDS = 60;
+    private static final long POLL_MILLIS = 20;
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // NOTE: база своя для теста, а процессы запускаются как на сервере: миграции в release-фазе,
+    // затем веб-процесс с выключенными DDL и миграциями.
+    private static ProcessBuilder createProcess(final String mainClass, final String jdbcUrl) {
+        final ProcessBuilder builder = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                mainClass)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        final Map<String, String> environment = builder.environment();
+        environment.put("APP_ENV", "production");
+        environment.put("JDBC_DATABASE_URL", jdbcUrl);
+        environment.put("JDBC_DATABASE_USERNAME", "sa");
+        environment.put("JDBC_DATABASE_PASSWORD", "");
+        environment.put("EBEAN_DDL_RUN", "false");
+        environment.put("EBEAN_DDL_GENERATE", "false");
+        environment.put("EBEAN_MIGRATION_RUN", "false");
+        return builder;
+    }
+
+    private static int countMigrations(final String jdbcUrl) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+             ResultSet rows = connection.createStatement().executeQuery("select count(*) from db_migration")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    @Test
+    void testTimeToFirstRequest(@TempDir final Path directory)
+            throws IOException, InterruptedException, SQLException {
+        final String jdbcUrl = "jdbc:h2:" + directory.resolve("startup").toAbsolutePath();
+        final Process migrate = createProcess(Migrate.class.getName(), jdbcUrl).start();
+        assertThat(migrate.waitFor(MIGRATE_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(migrate.exitValue()).isZero();
+
+        final int port = getFreePort();
+        final ProcessBuilder builder = createProcess(App.class.getName(), jdbcUrl);
+        builder.environment().put("PORT", String.valueOf(port));
+
+        final long start = System.nanoTime();
+        final Process process = builder.start();
+        try {
+            int status = 0;
+            while (status != 200 && process.isAlive()
+                    && (System.nanoTime() - start) / 1_000_000 < STARTUP_BUDGET_MILLIS) {
+                try {
+                    status = Unirest.get("http://localhost:" + port + "/urls").asEmpty().getStatus();
+                } catch (UnirestException e) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+            final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("Time to first request: %d ms%n", elapsedMillis);
+
+            assertThat(status).isEqualTo(200);
+            assertThat(elapsedMillis).isLessThan(STARTUP_BUDGET_MILLIS);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+
+        assertThat(countMigrations(jdbcUrl)).isPositive();
+    }
+}
@@ -0,0 +1,100 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrl;
+import hexlet.code.domain.query.QUrlCheck;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchCrawlerTest {
+    private static final int MAX_IN_FLIGHT = 3;
+    private static final int MAX_PER_HOST = 2;
+    private static final int BATCH_SIZE = 3;
+    private static final int BUSY_HOST_URLS = 6;
+    private static final int OTHER_HOST_URLS = 2;
+    private static final long RESPONSE_DELAY_MILLIS = 200;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final Map<String, AtomicInteger> activeByHost = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> maxActiveByHost = new ConcurrentHashMap<>();
+    private final List<String> requestHosts = new CopyOnWriteArrayList<>();
+    private MockWebServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                final String host = request.getHeader("Host");
+                requestHosts.add(host);
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                final AtomicInteger hostActive = activeByHost.computeIfAbsent(host, ignored -> new AtomicInteger());
+                maxActiveByHost.computeIfAbsent(host, ignored -> new AtomicInteger())
+                        .accumulateAndGet(hostActive.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(RESPONSE_DELAY_MILLIS);
+                    return new MockResponse().setBody("<html><head><title>batch</title></head></html>");
+                } finally {
+                    hostActive.decrementAndGet();
+                    active.decrementAndGet();
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        server.shutdown();
+    }
+
+    private String createUrls(final String host, final int count) {
+        final String prefix = "http://" + host + ":" + server.getPort() + "/batch-";
+        for (int i = 0; i < count; i++) {
+            new Url(prefix + i).save();
+        }
+        return prefix;
+    }
+
+    @Test
+    void testHostLimitsDoNotBlockOtherHosts() {
+        final String busyHost = createUrls("localhost", BUSY_HOST_URLS);
+        final String otherHost = createUrls("127.0.0.1", OTHER_HOST_URLS);
+        final QUrl urls = new QUrl().or().name.startsWith(busyHost).name.startsWith(otherHost).endOr();
+
+        final BatchProgress progress = BatchCrawler.run(new BatchSettings(MAX_IN_FLIGHT, MAX_PER_HOST, BATCH_SIZE),
+                urls);
+
+        final int total = BUSY_HOST_URLS + OTHER_HOST_URLS;
+        assertThat(progress.getTotal()).isEqualTo(total);
+        assertThat(progress.getSubmitted()).isEqualTo(total);
+        assertThat(progress.getCompleted()).isEqualTo(total);
+        assertThat(progress.getFailed()).isZero();
+        assertThat(progress.getSaved()).isEqualTo(total);
+        assertThat(progress.isFinished()).isTrue();
+
+        assertThat(maxActive.get()).isEqualTo(MAX_IN_FLIGHT);
+        assertThat(maxActiveByHost.values()).allMatch(max -> max.get() <= MAX_PER_HOST);
+        assertThat(requestHosts).hasSize(total);
+        assertThat(requestHosts.subList(0, MAX_IN_FLIGHT)).anyMatch(host -> host.startsWith("127.0.0.1"));
+
+        assertThat(new QUrlCheck().url.name.startsWith(busyHost).findCount()).isEqualTo(BUSY_HOST_URLS);
+        assertThat(new QUrlCheck().url.name.startsWith(otherHost).findCount()).isEqualTo(OTHER_HOST_URLS);
+    }
+}
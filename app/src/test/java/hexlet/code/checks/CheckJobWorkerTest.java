@@ -0,0 +1,107 @@
+package hexlet.code.checks;
+
+import hexlet.code.concurrent.NamedThreadFactory;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QCheckJob;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckJobWorkerTest {
+    private static final int JOBS = 40;
+    private static final int WORKERS = 4;
+    private static final int CONCURRENCY = 3;
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final JobSettings SETTINGS = new JobSettings(true, 5, 60, 10);
+    private static final long WRITE_DELAY_MILLIS = 300;
+
+    private static List<Url> createJobs(final String prefix, final int count) {
+        final List<Url> urls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Url url = new Url("https://" + prefix + i + ".example.com");
+            url.save();
+            assertThat(CheckJobs.create(url, Instant.now().minusSeconds(1))).isTrue();
+            urls.add(url);
+        }
+        return urls;
+    }
+
+    @Test
+    void testWorkersRunEveryJobOnce() throws InterruptedException {
+        final List<Url> urls = createJobs("workers-", JOBS);
+        final Map<Long, Integer> runs = new ConcurrentHashMap<>();
+        final CountDownLatch done = new CountDownLatch(JOBS);
+        final List<CheckJobWorker> workers = new ArrayList<>();
+
+        for (int i = 0; i < WORKERS; i++) {
+            workers.add(new CheckJobWorker("worker-" + i, SETTINGS, CONCURRENCY,
+                    new NamedThreadFactory("test-worker-" + i), job -> {
+                        runs.merge(job.urlId(), 1, Integer::sum);
+                        done.countDown();
+                        return CompletableFuture.completedFuture(
+                                new JobOutcome(Instant.now().plus(1, ChronoUnit.DAYS), 0));
+                    }));
+        }
+        workers.forEach(CheckJobWorker::start);
+
+        final boolean completed = done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        workers.forEach(CheckJobWorker::stop);
+
+        assertThat(completed).isTrue();
+        assertThat(runs).hasSize(JOBS);
+        assertThat(runs.values()).allMatch(count -> count == 1);
+        assertThat(workers.stream().mapToLong(CheckJobWorker::getCompleted).sum()).isEqualTo(JOBS);
+        for (Url url : urls) {
+            assertThat(new QCheckJob().url.equalTo(url).lockedBy.isNull().findCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testExpiredLeaseIsReclaimed() throws InterruptedException {
+        createJobs("lease-", 1);
+
+        final List<ClaimedJob> first = CheckJobs.claim("stalled", 1, 0);
+        Thread.sleep(1);
+        final List<ClaimedJob> second = CheckJobs.claim("healthy", 1, TimeUnit.SECONDS.toMillis(60));
+
+        assertThat(first).hasSize(1);
+        assertThat(second).containsExactlyElementsOf(first);
+        assertThat(CheckJobs.claim("other", 1, TimeUnit.SECONDS.toMillis(60))).isEmpty();
+        assertThat(CheckJobs.complete(first.get(0).id(), "stalled",
+                new JobOutcome(Instant.now(), 0))).isFalse();
+        assertThat(CheckJobs.complete(first.get(0).id(), "healthy",
+                new JobOutcome(Instant.now().plus(1, ChronoUnit.DAYS), 0))).isTrue();
+    }
+
+    @Test
+    void testStopWaitsForPendingWrites() throws InterruptedException {
+        final Url url = createJobs("stop-", 1).get(0);
+        final CountDownLatch running = new CountDownLatch(1);
+        final Instant nextDueAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        final CheckJobWorker worker = new CheckJobWorker("stopping", SETTINGS, 1,
+                new NamedThreadFactory("test-stopping"), job -> {
+                    running.countDown();
+                    return CompletableFuture.supplyAsync(() -> new JobOutcome(nextDueAt, 0),
+                            CompletableFuture.delayedExecutor(WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+                });
+        worker.start();
+
+        assertThat(running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        worker.stop();
+
+        assertThat(worker.getCompleted()).isEqualTo(1);
+        assertThat(worker.getLost()).isZero();
+        assertThat(new QCheckJob().url.equalTo(url).lockedBy.isNull().dueAt.greaterThan(Instant.now()).findCount())
+                .isEqualTo(1);
+    }
+}
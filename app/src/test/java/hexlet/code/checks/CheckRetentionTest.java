@@ -0,0 +1,90 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.CheckText;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.UrlCheckDaily;
+import hexlet.code.domain.query.QCheckText;
+import hexlet.code.domain.query.QUrlCheck;
+import hexlet.code.domain.query.QUrlCheckDaily;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckRetentionTest {
+    private static final int CHECKS = 5;
+    private static final int KEEP = 2;
+    private static final long RESPONSE_TIME_MILLIS = 100;
+
+    private Url url;
+
+    // NOTE: база общая для всех тестов, поэтому данные теста удаляются после него,
+    // а сжатие запускается только для url этого теста.
+    @AfterEach
+    void afterEach() {
+        if (url == null) {
+            return;
+        }
+        final Set<Long> textIds = new HashSet<>();
+        CheckRetention.compact(url.getId(), 0, textIds);
+        new QUrlCheckDaily().url.equalTo(url).delete();
+        url.delete();
+        CheckRetention.sweepTexts(textIds);
+    }
+
+    @Test
+    void testOldChecksRolledIntoDailyAggregates() {
+        url = new Url("https://retention.example.com");
+        url.save();
+        for (int i = 0; i < CHECKS; i++) {
+            final UrlCheck urlCheck = new UrlCheck(i == 0 ? 500 : 200, "retention title " + i, null, null, url);
+            urlCheck.setResponseTimeMillis(RESPONSE_TIME_MILLIS * (i + 1));
+            CheckStore.save(urlCheck);
+        }
+
+        final Set<Long> textIds = new HashSet<>();
+        assertThat(CheckRetention.compact(url.getId(), KEEP, textIds)).isEqualTo(CHECKS - KEEP);
+        CheckRetention.sweepTexts(textIds);
+
+        final List<UrlCheck> remaining = new QUrlCheck().url.equalTo(url).orderBy().id.asc().findList();
+        final List<UrlCheckDaily> daily = new QUrlCheckDaily().url.equalTo(url).findList();
+
+        assertThat(remaining).extracting(UrlCheck::getTitle).containsExactly("retention title 3", "retention title 4");
+        assertThat(new QCheckText().hash.equalTo(CheckText.hash("retention title 0")).exists()).isFalse();
+        assertThat(new QCheckText().hash.equalTo(CheckText.hash("retention title 3")).exists()).isTrue();
+        assertThat(daily).hasSize(1);
+        assertThat(daily.get(0).getCheckCount()).isEqualTo(CHECKS - KEEP);
+        assertThat(daily.get(0).getSuccessCount()).isEqualTo(CHECKS - KEEP - 1);
+        assertThat(daily.get(0).getResponseTimeAvg()).isEqualTo(2 * RESPONSE_TIME_MILLIS);
+        assertThat(daily.get(0).getResponseTimeMax()).isEqualTo(3 * RESPONSE_TIME_MILLIS);
+
+        assertThat(CheckRetention.compact(url.getId(), KEEP, new HashSet<>())).isZero();
+
+        assertThat(new QUrlCheck().url.equalTo(url).findCount()).isEqualTo(KEEP);
+        assertThat(new QUrlCheckDaily().url.equalTo(url).findOne().getCheckCount()).isEqualTo(CHECKS - KEEP);
+    }
+
+    @Test
+    void testConcurrentCompactionCountsChecksOnce() {
+        url = new Url("https://retention-concurrent.example.com");
+        url.save();
+        for (int i = 0; i < CHECKS; i++) {
+            CheckStore.save(new UrlCheck(200, null, null, null, url));
+        }
+
+        final CompletableFuture<Integer> first = CompletableFuture.supplyAsync(
+                () -> CheckRetention.compact(url.getId(), KEEP, new HashSet<>()));
+        final CompletableFuture<Integer> second = CompletableFuture.supplyAsync(
+                () -> CheckRetention.compact(url.getId(), KEEP, new HashSet<>()));
+
+        assertThat(first.join() + second.join()).isEqualTo(CHECKS - KEEP);
+        assertThat(new QUrlCheck().url.equalTo(url).findCount()).isEqualTo(KEEP);
+        assertThat(new QUrlCheckDaily().url.equalTo(url).findOne().getCheckCount()).isEqualTo(CHECKS - KEEP);
+    }
+}
@@ -0,0 +1,81 @@
+package hexlet.code.checks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckSchedulerTest {
+    private static final ScheduleSettings SETTINGS = new ScheduleSettings(true, 1440, 4, 0.1, 60);
+    private static final long INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(60);
+    private static final int SAMPLES = 1000;
+
+    @Test
+    void testJitterStaysWithinSpread() {
+        final long delayMillis = 1000;
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(CheckScheduler.getJitterMillis(SETTINGS.jitter(), delayMillis)).isBetween(-100L, 100L);
+        }
+        assertThat(CheckScheduler.getJitterMillis(0, delayMillis)).isZero();
+    }
+
+    @Test
+    void testBackoffDoublesUpToMax() {
+        assertThat(CheckScheduler.getBackoffMillis(SETTINGS, INTERVAL_MILLIS, 0)).isEqualTo(INTERVAL_MILLIS);
+        assertThat(CheckScheduler.getBackoffMillis(SETTINGS, INTERVAL_MILLIS, 1)).isEqualTo(2 * INTERVAL_MILLIS);
+        assertThat(CheckScheduler.getBackoffMillis(SETTINGS, INTERVAL_MILLIS, 3)).isEqualTo(8 * INTERVAL_MILLIS);
+        assertThat(CheckScheduler.getBackoffMillis(SETTINGS, INTERVAL_MILLIS, 10)).isEqualTo(MAX_BACKOFF_MILLIS);
+
+        final long dayMillis = TimeUnit.DAYS.toMillis(1);
+        assertThat(CheckScheduler.getBackoffMillis(SETTINGS, dayMillis, 1)).isEqualTo(dayMillis);
+    }
+
+    @Test
+    void testIntervalIsBounded() {
+        final ScheduleSettings unbounded = new ScheduleSettings(true, 1440, 4, 0.1, Integer.MAX_VALUE);
+        final long maxIntervalMillis = TimeUnit.MINUTES.toMillis(CheckScheduler.MAX_INTERVAL_MINUTES);
+
+        assertThat(CheckScheduler.getIntervalMillis(SETTINGS, null)).isEqualTo(TimeUnit.MINUTES.toMillis(1440));
+        assertThat(CheckScheduler.getIntervalMillis(SETTINGS, Integer.MAX_VALUE)).isEqualTo(maxIntervalMillis);
+        assertThat(CheckScheduler.getIntervalMillis(SETTINGS, 0)).isEqualTo(INTERVAL_MILLIS);
+
+        final long backoffMillis = CheckScheduler.getBackoffMillis(unbounded, maxIntervalMillis, Integer.MAX_VALUE);
+        assertThat(backoffMillis).isPositive();
+        assertThat(System.currentTimeMillis() + backoffMillis
+                + CheckScheduler.getJitterMillis(SETTINGS.jitter(), backoffMillis)).isPositive();
+    }
+
+    @Test
+    void testQueueOrdersByDueTime() throws InterruptedException {
+        final long now = System.currentTimeMillis();
+        CheckScheduler.enqueue(-1, now - 1);
+        CheckScheduler.enqueue(-2, now - 3);
+        CheckScheduler.enqueue(-3, now - 2);
+
+        assertThat(CheckScheduler.takeNext().getUrlId()).isEqualTo(-2);
+        assertThat(CheckScheduler.takeNext().getUrlId()).isEqualTo(-3);
+        assertThat(CheckScheduler.takeNext().getUrlId()).isEqualTo(-1);
+        assertThat(CheckScheduler.getStats().queueDepth()).isZero();
+    }
+
+    @Test
+    void testRescheduleDropsSupersededEntries() throws InterruptedException {
+        final long now = System.currentTimeMillis();
+        final ScheduledCheck running = CheckScheduler.enqueue(-10, now - 3);
+        assertThat(CheckScheduler.takeNext()).isSameAs(running);
+
+        final ScheduledCheck rescheduled = CheckScheduler.enqueue(-10, now - 1);
+        CheckScheduler.requeue(running, now - 2, 0);
+
+        assertThat(CheckScheduler.getStats().queueDepth()).isEqualTo(1);
+        assertThat(CheckScheduler.takeNext()).isSameAs(rescheduled);
+
+        CheckScheduler.enqueue(-11, now - 2);
+        final ScheduledCheck latest = CheckScheduler.enqueue(-11, now - 1);
+
+        assertThat(CheckScheduler.takeNext()).isSameAs(latest);
+        assertThat(CheckScheduler.getStats().queueDepth()).isZero();
+    }
+}
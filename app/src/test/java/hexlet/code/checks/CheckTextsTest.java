@@ -0,0 +1,48 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.CheckText;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QCheckText;
+import hexlet.code.domain.query.QUrlCheck;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckTextsTest {
+    private static final int CHECKS = 3;
+    private static final String DESCRIPTION = "Stable description of a stable site. ".repeat(50);
+
+    @Test
+    void testRepeatedValuesStoredOnce() {
+        final Url url = new Url("https://texts.example.com");
+        url.save();
+        final List<UrlCheck> urlChecks = List.of(
+                new UrlCheck(200, "Texts title", "Texts h1", DESCRIPTION, url),
+                new UrlCheck(200, "Texts title", "Texts h1", DESCRIPTION, url));
+        CheckStore.saveAll(urlChecks, CHECKS);
+        CheckStore.save(new UrlCheck(200, "Texts title", null, DESCRIPTION, url));
+
+        final CheckText description = new QCheckText().hash.equalTo(CheckText.hash(DESCRIPTION)).findOne();
+        final List<UrlCheck> stored = new QUrlCheck().url.equalTo(url).orderBy().id.asc().findList();
+
+        assertThat(new QCheckText().hash.equalTo(CheckText.hash("Texts title")).findCount()).isEqualTo(1);
+        assertThat(description).isNotNull();
+        assertThat(description.isCompressed()).isTrue();
+        assertThat(description.getValue()).isEqualTo(DESCRIPTION);
+        assertThat(stored).hasSize(CHECKS);
+        assertThat(stored).extracting(UrlCheck::getTitle).containsOnly("Texts title");
+        assertThat(stored).extracting(UrlCheck::getH1).containsExactly("Texts h1", "Texts h1", null);
+        assertThat(stored).extracting(UrlCheck::getDescription).containsOnly(DESCRIPTION);
+    }
+
+    @Test
+    void testShortValueNotCompressed() {
+        final CheckText text = CheckText.of("short");
+
+        assertThat(text.isCompressed()).isFalse();
+        assertThat(text.getValue()).isEqualTo("short");
+    }
+}
@@ -0,0 +1,84 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QUrlCheck;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckWriterTest {
+    private static final int BATCH_SIZE = 3;
+    private static final int LONG_INTERVAL_MILLIS = 60_000;
+    private static final int MAX_PENDING = 100;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @AfterEach
+    void afterEach() {
+        CheckWriter.stop();
+    }
+
+    private static Url createUrl(final String name) {
+        final Url url = new Url(name);
+        url.save();
+        return url;
+    }
+
+    @Test
+    void testFlushOnBatchSize() throws InterruptedException, ExecutionException, TimeoutException {
+        final Url url = createUrl("https://writer-batch.example.com");
+        CheckWriter.start(new WriteSettings(BATCH_SIZE, LONG_INTERVAL_MILLIS, MAX_PENDING));
+
+        final List<CompletableFuture<Void>> saved = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            saved.add(CheckWriter.submit(new UrlCheck(200, "title " + i, null, null, url)));
+        }
+        CompletableFuture.allOf(saved.toArray(CompletableFuture[]::new)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(new QUrlCheck().url.equalTo(url).findCount()).isEqualTo(BATCH_SIZE);
+    }
+
+    @Test
+    void testFailedBatchWrittenOneByOne() throws InterruptedException, TimeoutException {
+        final Url url = createUrl("https://writer-fallback.example.com");
+        final Url missing = new Url("https://writer-missing.example.com");
+        CheckWriter.start(new WriteSettings(BATCH_SIZE, LONG_INTERVAL_MILLIS, MAX_PENDING));
+
+        final CompletableFuture<Void> first = CheckWriter.submit(new UrlCheck(200, "first", null, null, url));
+        final CompletableFuture<Void> failed = CheckWriter.submit(new UrlCheck(200, "failed", null, null, missing));
+        final CompletableFuture<Void> last = CheckWriter.submit(new UrlCheck(200, "last", null, null, url));
+        try {
+            CompletableFuture.allOf(first, failed, last).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // NOTE: ошибка ожидается только у проверки несохраненного сайта.
+        }
+
+        assertThat(first).isCompleted();
+        assertThat(last).isCompleted();
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(new QUrlCheck().url.equalTo(url).findCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testFlushOnStop() {
+        final Url url = createUrl("https://writer-stop.example.com");
+        CheckWriter.start(new WriteSettings(BATCH_SIZE, LONG_INTERVAL_MILLIS, MAX_PENDING));
+
+        final CompletableFuture<Void> saved = CheckWriter.submit(new UrlCheck(200, "title", null, null, url));
+        assertThat(saved).isNotDone();
+
+        CheckWriter.stop();
+
+        assertThat(saved).isCompleted();
+        assertThat(new QUrlCheck().url.equalTo(url).findCount()).isEqualTo(1);
+        assertThat(CheckWriter.getPendingCount()).isZero();
+    }
+}
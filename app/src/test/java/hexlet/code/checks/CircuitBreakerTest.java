@@ -0,0 +1,81 @@
+package hexlet.code.checks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private static final int FAILURES = 3;
+    private static final long WINDOW_NANOS = 1_000;
+    private static final long OPEN_NANOS = 5_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker circuit = new CircuitBreaker(FAILURES, WINDOW_NANOS, OPEN_NANOS, now::get);
+
+    private void fail(final int times) {
+        for (int i = 0; i < times; i++) {
+            circuit.tryAcquire();
+            circuit.onFailure();
+        }
+    }
+
+    @Test
+    void testOpensAfterRecentFailures() {
+        fail(FAILURES - 1);
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(1);
+
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuit.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void testOldFailuresForgotten() {
+        fail(FAILURES - 1);
+        now.addAndGet(WINDOW_NANOS + 1);
+        fail(1);
+
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void testHalfOpenLetsOneProbe() {
+        fail(FAILURES);
+        now.addAndGet(OPEN_NANOS);
+
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuit.tryAcquire()).isTrue();
+        assertThat(circuit.tryAcquire()).isFalse();
+
+        assertThat(circuit.onSuccess()).isTrue();
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuit.isIdle()).isTrue();
+    }
+
+    @Test
+    void testFailedProbeOpensAgain() {
+        fail(FAILURES);
+        now.addAndGet(OPEN_NANOS);
+
+        assertThat(circuit.tryAcquire()).isTrue();
+        assertThat(circuit.onFailure()).isTrue();
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuit.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void testOpenCircuitExpiresAfterCoolDownAndWindow() {
+        fail(FAILURES);
+        now.addAndGet(OPEN_NANOS);
+
+        assertThat(circuit.isExpired()).isFalse();
+        assertThat(circuit.acquire()).isEqualTo(CircuitBreaker.Permit.PROBE);
+        assertThat(circuit.onFailure()).isTrue();
+
+        now.addAndGet(OPEN_NANOS + WINDOW_NANOS);
+        assertThat(circuit.isExpired()).isTrue();
+    }
+}
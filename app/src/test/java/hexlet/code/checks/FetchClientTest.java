@@ -0,0 +1,147 @@
+package hexlet.code.checks;
+
+import kong.unirest.HttpResponse;
+import kong.unirest.UnirestException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FetchClientTest {
+    private static final int CONNECT_TIMEOUT_MILLIS = 500;
+    private static final int SOCKET_TIMEOUT_MILLIS = 500;
+    private static final int TOTAL_TIMEOUT_MILLIS = 1500;
+    private static final int MAX_REDIRECTS = 2;
+    private static final long SLOW_MILLIS = 5000;
+    private static final int CIRCUIT_FAILURES = 2;
+
+    private final FetchClient client = new FetchClient(new FetchSettings(CONNECT_TIMEOUT_MILLIS,
+            SOCKET_TIMEOUT_MILLIS, TOTAL_TIMEOUT_MILLIS, 10, 2, 30, MAX_REDIRECTS),
+            new HostSettings(100, 60, 10, CIRCUIT_FAILURES, 60, 60, 100));
+    private MockWebServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    private HttpResponse<String> get(final String path) {
+        return client.get(server.url(path).toString(), Map.of(),
+                (raw, body) -> new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testKeepAlive() throws InterruptedException {
+        server.enqueue(new MockResponse().setBody("first"));
+        server.enqueue(new MockResponse().setBody("second"));
+
+        assertThat(get("/").getBody()).isEqualTo("first");
+        assertThat(get("/").getBody()).isEqualTo("second");
+
+        assertThat(server.takeRequest().getSequenceNumber()).isZero();
+        assertThat(server.takeRequest().getSequenceNumber()).isEqualTo(1);
+        assertThat(client.getPoolStats().getAvailable()).isEqualTo(1);
+        assertThat(client.getPoolStats().getLeased()).isZero();
+    }
+
+    @Test
+    void testSlowHeaders() {
+        server.enqueue(new MockResponse().setBody("late").setHeadersDelay(SLOW_MILLIS, TimeUnit.MILLISECONDS));
+
+        final long startedAt = System.currentTimeMillis();
+        assertThatThrownBy(() -> get("/")).isInstanceOf(UnirestException.class);
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(SLOW_MILLIS);
+    }
+
+    @Test
+    void testHangingResponse() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        final long startedAt = System.currentTimeMillis();
+        assertThatThrownBy(() -> get("/")).isInstanceOf(UnirestException.class);
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(SLOW_MILLIS);
+    }
+
+    @Test
+    void testSlowBodyHitsDeadline() {
+        server.enqueue(new MockResponse()
+                .setBody("x".repeat(1000))
+                .throttleBody(10, SOCKET_TIMEOUT_MILLIS / 5, TimeUnit.MILLISECONDS));
+
+        final long startedAt = System.currentTimeMillis();
+        assertThatThrownBy(() -> get("/")).isInstanceOf(UnirestException.class);
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(SLOW_MILLIS);
+        assertThat(client.getPoolStats().getLeased()).isZero();
+    }
+
+    @Test
+    void testFollowsRedirects() {
+        server.enqueue(new MockResponse().setResponseCode(302).setHeader("Location", "/second"));
+        server.enqueue(new MockResponse().setResponseCode(301).setHeader("Location", "/final"));
+        server.enqueue(new MockResponse().setBody("done"));
+
+        final HttpResponse<String> response = get("/first");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo("done");
+    }
+
+    @Test
+    void testTooManyRedirects() {
+        for (int i = 0; i <= MAX_REDIRECTS; i++) {
+            server.enqueue(new MockResponse().setResponseCode(302).setHeader("Location", "/loop"));
+        }
+
+        assertThatThrownBy(() -> get("/loop"))
+                .isInstanceOf(UnirestException.class)
+                .hasMessageContaining("Too many redirects");
+    }
+
+    @Test
+    void testCircuitOpensAfterFailures() {
+        for (int i = 0; i < CIRCUIT_FAILURES; i++) {
+            server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        }
+        server.enqueue(new MockResponse().setBody("not requested"));
+
+        for (int i = 0; i < CIRCUIT_FAILURES; i++) {
+            assertThatThrownBy(() -> get("/")).isInstanceOf(UnirestException.class);
+        }
+
+        assertThatThrownBy(() -> get("/")).isInstanceOf(CircuitOpenException.class);
+        assertThat(client.getCircuitState(server.url("/").toString())).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(client.getOpenCircuitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testServerErrorsOpenCircuit() {
+        for (int i = 0; i < CIRCUIT_FAILURES; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        server.enqueue(new MockResponse().setBody("not requested"));
+
+        for (int i = 0; i < CIRCUIT_FAILURES; i++) {
+            assertThat(get("/").getStatus()).isEqualTo(503);
+        }
+
+        assertThatThrownBy(() -> get("/")).isInstanceOf(CircuitOpenException.class);
+        assertThat(server.getRequestCount()).isEqualTo(CIRCUIT_FAILURES);
+    }
+}
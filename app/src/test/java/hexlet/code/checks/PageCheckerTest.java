@@ -0,0 +1,80 @@
+package hexlet.code.checks;
+
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import hexlet.code.domain.query.QUrl;
+import hexlet.code.domain.query.QUrlCheck;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCheckerTest {
+    private static final String ETAG = "\"v1\"";
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void testNotModifiedRecordsStatus() throws InterruptedException {
+        final Url url = new Url(server.url("/not-modified").toString());
+        url.save();
+        server.enqueue(new MockResponse()
+                .setHeader("ETag", ETAG)
+                .setBody("<html><head><title>Cached</title></head><body><h1>Cached</h1><p>one two</p></body></html>"));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", ETAG));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", ETAG));
+
+        final UrlCheck first = PageChecker.check(url);
+        CheckStore.save(first);
+        final UrlCheck second = PageChecker.check(url);
+        CheckStore.save(second);
+        final UrlCheck third = PageChecker.check(url);
+
+        assertThat(first.getStatusCode()).isEqualTo(200);
+        assertThat(second.getStatusCode()).isEqualTo(304);
+        assertThat(second.isUnchanged()).isTrue();
+        assertThat(second.getTitle()).isEqualTo("Cached");
+        assertThat(second.getWordCount()).isEqualTo(first.getWordCount());
+        assertThat(third.getStatusCode()).isEqualTo(304);
+
+        server.takeRequest();
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo(ETAG);
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo(ETAG);
+    }
+
+    @Test
+    void testOpenCircuitRecordsSkippedCheck() {
+        final Url url = new Url(server.url("/unavailable").toString());
+        url.save();
+        final int failures = HostSettings.fromEnv().circuitFailures();
+        for (int i = 0; i < failures; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+            CheckStore.save(PageChecker.check(url));
+        }
+
+        final UrlCheck skipped = PageChecker.check(url);
+        CheckStore.save(skipped);
+
+        assertThat(skipped.isSkipped()).isTrue();
+        assertThat(skipped.getStatusCode()).isNull();
+        assertThat(server.getRequestCount()).isEqualTo(failures);
+        assertThat(new QUrlCheck().url.equalTo(url).skipReason.isNotNull().findCount()).isEqualTo(1);
+        assertThat(new QUrl().id.equalTo(url.getId()).findOne().getLastCheckStatusCode()).isEqualTo(503);
+    }
+}
@@ -0,0 +1,177 @@
+package hexlet.code.checks;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageExtractorTest {
+    private static final int MAX_BYTES = 1024 * 1024;
+    private static final int BODY_THRESHOLD = 64 * 1024;
+    private static final int LARGE_PAGE_PARAGRAPHS = 200_000;
+
+    private final PageExtractor extractor = new PageExtractor(MAX_BYTES, BODY_THRESHOLD);
+
+    private static String readFixture(final String fileName) throws IOException {
+        Path filePath = Paths.get("src", "test", "resources", "fixtures", fileName)
+                .toAbsolutePath().normalize();
+        return Files.readString(filePath).trim();
+    }
+
+    private static String generatePage(final String head, final String bodyStart) {
+        final StringBuilder html = new StringBuilder("<html><head>").append(head).append("</head><body>")
+                .append(bodyStart);
+        for (int i = 0; i < LARGE_PAGE_PARAGRAPHS; i++) {
+            html.append("<p>paragraph ").append(i).append("</p>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    private PageContent extract(final String html, final Charset charset, final String contentType)
+            throws IOException {
+        return extractor.extract(new ByteArrayInputStream(html.getBytes(charset)), contentType);
+    }
+
+    private static void assertSameFields(final PageContent actual, final PageContent expected) {
+        assertThat(actual.title()).isEqualTo(expected.title());
+        assertThat(actual.h1()).isEqualTo(expected.h1());
+        assertThat(actual.description()).isEqualTo(expected.description());
+    }
+
+    @Test
+    void testFixtureMatchesJsoup() throws IOException {
+        final String html = readFixture("index.html");
+
+        final PageContent actual = extract(html, StandardCharsets.UTF_8, "text/html");
+
+        assertSameFields(actual, PageExtractor.extract(Jsoup.parse(html), null));
+        assertThat(actual.title()).isEqualTo("Test page");
+        assertThat(actual.h1()).isEqualTo("Do not expect a miracle, miracles yourself!");
+        assertThat(actual.description()).isEqualTo("statements of great people");
+    }
+
+    @Test
+    void testLargePageMatchesJsoup() throws IOException {
+        final String html = generatePage(
+                "<title>Large &amp; page</title><meta name=\"description\" content=\"big\">",
+                "<h1>Main <b>heading</b></h1>");
+
+        final PageContent actual = extract(html, StandardCharsets.UTF_8, null);
+
+        assertThat(html.length()).isGreaterThan(MAX_BYTES);
+        assertSameFields(actual, PageExtractor.extract(Jsoup.parse(html), null));
+    }
+
+    @Test
+    void testBodyThresholdWithoutH1() throws IOException {
+        final String html = generatePage("<title>No heading</title>", "");
+
+        final PageContent actual = extract(html, StandardCharsets.UTF_8, null);
+
+        assertThat(actual.title()).isEqualTo("No heading");
+        assertThat(actual.h1()).isNull();
+        assertThat(actual.description()).isNull();
+    }
+
+    @Test
+    void testCharsetFromMeta() throws IOException {
+        final Charset charset = Charset.forName("windows-1251");
+        final String html = "<html><head><meta charset=\"windows-1251\"><title>Заголовок</title></head>"
+                + "<body><h1>Привет</h1></body></html>";
+
+        final PageContent actual = extract(html, charset, "text/html");
+
+        assertThat(actual.title()).isEqualTo("Заголовок");
+        assertThat(actual.h1()).isEqualTo("Привет");
+    }
+
+    @Test
+    void testCharsetFromHeader() throws IOException {
+        final Charset charset = Charset.forName("KOI8-R");
+        final String html = "<html><head><title>Заголовок</title></head><body></body></html>";
+
+        final PageContent actual = extract(html, charset, "text/html; charset=KOI8-R");
+
+        assertThat(actual.title()).isEqualTo("Заголовок");
+    }
+
+    @Test
+    void testSeoFacts() throws IOException {
+        final String html = "<html><head><title>Facts</title>"
+                + "<link rel=\"canonical\" href=\"/canonical\">"
+                + "<meta name=\"robots\" content=\"noindex\">"
+                + "<meta property=\"og:title\" content=\"Og title\">"
+                + "<meta property=\"og:description\" content=\"Og description\">"
+                + "<meta property=\"og:image\" content=\"https://cdn.example.org/image.png\">"
+                + "</head><body><h1>First</h1><h1>Second</h1>"
+                + "<p>Three words here <a href=\"/about\">about</a> <a href=\"https://example.com/x\">x</a>"
+                + " <a href=\"https://other.org\">other</a> <a href=\"mailto:me@example.com\">mail</a>"
+                + " <a href=\"#top\">top</a></p><script>var ignored = 1;</script></body></html>";
+
+        final PageFacts facts = extractor.extract(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)),
+                null, null, "https://example.com/page").facts();
+
+        assertThat(facts.getTitle()).isEqualTo("Facts");
+        assertThat(facts.getCanonical()).isEqualTo("https://example.com/canonical");
+        assertThat(facts.getRobots()).isEqualTo("noindex");
+        assertThat(facts.getOgTitle()).isEqualTo("Og title");
+        assertThat(facts.getOgDescription()).isEqualTo("Og description");
+        assertThat(facts.getOgImage()).isEqualTo("https://cdn.example.org/image.png");
+        assertThat(facts.getH1()).isEqualTo("First");
+        assertThat(facts.getH1Count()).isEqualTo(2);
+        assertThat(facts.getInternalLinks()).isEqualTo(2);
+        assertThat(facts.getExternalLinks()).isEqualTo(1);
+        assertThat(facts.getWordCount()).isEqualTo(10);
+        assertThat(facts.getBytesRead()).isEqualTo(html.length());
+    }
+
+    @Test
+    void testUnchangedContentHash() throws IOException {
+        final String html = generatePage("<title>Stable</title>", "<h1>Stable</h1>");
+
+        final PageContent first = extract(html, StandardCharsets.UTF_8, null);
+        final PageContent second = extractor.extract(
+                new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)), null, first.contentHash());
+
+        assertThat(first.unchanged()).isFalse();
+        assertThat(first.contentHash()).isNotNull();
+        assertThat(second.unchanged()).isTrue();
+        assertThat(second.contentHash()).isEqualTo(first.contentHash());
+        assertThat(second.title()).isNull();
+    }
+
+    @Test
+    void testChangedContentHash() throws IOException {
+        final PageContent first = extract("<title>Before</title>", StandardCharsets.UTF_8, null);
+        final PageContent second = extractor.extract(
+                new ByteArrayInputStream("<title>After</title>".getBytes(StandardCharsets.UTF_8)),
+                null, first.contentHash());
+
+        assertThat(second.unchanged()).isFalse();
+        assertThat(second.title()).isEqualTo("After");
+        assertThat(second.contentHash()).isNotEqualTo(first.contentHash());
+    }
+
+    @Test
+    void testChangeAfterBodyThresholdChangesHash() throws IOException {
+        final String html = generatePage("<title>Stable</title>", "<h1>Stable</h1>");
+        final String changed = html.replace("paragraph " + (LARGE_PAGE_PARAGRAPHS / 10), "changed");
+
+        final PageContent first = extract(html, StandardCharsets.UTF_8, null);
+        final PageContent second = extractor.extract(
+                new ByteArrayInputStream(changed.getBytes(StandardCharsets.UTF_8)), null, first.contentHash());
+
+        assertThat(changed.indexOf("changed")).isGreaterThan(BODY_THRESHOLD).isLessThan(MAX_BYTES);
+        assertThat(second.unchanged()).isFalse();
+        assertThat(second.contentHash()).isNotEqualTo(first.contentHash());
+        assertThat(second.facts().getBytesRead()).isEqualTo(MAX_BYTES);
+    }
+}
@@ -0,0 +1,96 @@
+package hexlet.code.db;
+
+import hexlet.code.App;
+import hexlet.code.controllers.UrlViews;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.query.QUrl;
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.config.DatabaseConfig;
+import io.javalin.Javalin;
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabasesTest {
+    private static final String REPLICA_URL = "https://replica.example.com";
+
+    private static Javalin app;
+    private static String baseUrl;
+    private static Database replica;
+    private static Url replicaUrl;
+
+    @BeforeAll
+    static void beforeAll() {
+        final DatabaseConfig config = new DatabaseConfig();
+        config.setName("replica");
+        config.getDataSourceConfig().setUrl("jdbc:h2:mem:replica");
+        config.getDataSourceConfig().setUsername("sa");
+        config.getDataSourceConfig().setPassword("");
+        config.setDdlGenerate(true);
+        config.setDdlRun(true);
+        config.setRegister(false);
+        config.setDefaultServer(false);
+        replica = DatabaseFactory.create(config);
+
+        replicaUrl = new Url(REPLICA_URL);
+        replica.save(replicaUrl);
+
+        Databases.setReplica(replica);
+        UrlViews.invalidateAll();
+
+        app = App.getApp();
+        app.start(0);
+        baseUrl = "http://localhost:" + app.port();
+    }
+
+    // NOTE: выполняется и при ошибке в beforeAll, поэтому реплика сбрасывается,
+    // даже если приложение не запустилось.
+    @AfterAll
+    static void afterAll() {
+        try {
+            if (app != null) {
+                app.stop();
+            }
+        } finally {
+            Databases.setReplica(null);
+            UrlViews.invalidateAll();
+            replica.shutdown();
+        }
+    }
+
+    @Test
+    void testReadsUseReplica() {
+        final HttpResponse<String> list = Unirest.get(baseUrl + "/urls").asString();
+        final HttpResponse<String> show = Unirest.get(baseUrl + "/urls/" + replicaUrl.getId()).asString();
+
+        assertThat(list.getStatus()).isEqualTo(200);
+        assertThat(list.getBody()).contains(REPLICA_URL);
+        assertThat(show.getStatus()).isEqualTo(200);
+        assertThat(show.getBody()).contains(REPLICA_URL);
+    }
+
+    @Test
+    void testShutdownKeepsPassedReplica() {
+        Databases.open();
+        Databases.shutdown();
+
+        assertThat(Databases.getReplica()).isSameAs(replica);
+        assertThat(Unirest.get(baseUrl + "/api/urls/" + replicaUrl.getId()).asString().getBody())
+                .contains(REPLICA_URL);
+    }
+
+    @Test
+    void testWritesUsePrimary() {
+        final String name = "https://primary.example.com";
+
+        Unirest.post(baseUrl + "/urls").field("url", name).asEmpty();
+
+        assertThat(new QUrl().name.equalTo(name).findOne()).isNotNull();
+        assertThat(new QUrl(replica).name.equalTo(name).findOne()).isNull();
+    }
+}
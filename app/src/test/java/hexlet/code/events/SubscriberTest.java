@@ -0,0 +1,126 @@
+package hexlet.code.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriberTest {
+    private static final int CAPACITY = 2;
+    private static final int EVENTS = 6;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    private static Event event(final int i) {
+        return new Event("check", Integer.toString(i), "{}");
+    }
+
+    @Test
+    void testSlowSubscriberDropsOldest() throws InterruptedException {
+        final CountDownLatch firstReceived = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch allReceived = new CountDownLatch(1 + CAPACITY);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final Subscriber subscriber = new Subscriber(null, CAPACITY, executor, event -> {
+            received.add(event.id());
+            firstReceived.countDown();
+            allReceived.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> { });
+
+        subscriber.offer(event(0));
+        assertThat(firstReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < EVENTS; i++) {
+            subscriber.offer(event(i));
+        }
+        release.countDown();
+
+        assertThat(allReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("0", "4", "5");
+        assertThat(subscriber.getDropped()).isEqualTo(EVENTS - 1 - CAPACITY);
+    }
+
+    @Test
+    void testUrlFilter() {
+        final Subscriber subscriber = new Subscriber(1L, CAPACITY, executor, event -> { }, () -> { });
+
+        assertThat(subscriber.accepts(1L)).isTrue();
+        assertThat(subscriber.accepts(2L)).isFalse();
+        assertThat(new Subscriber(null, CAPACITY, executor, event -> { }, () -> { }).accepts(2L)).isTrue();
+    }
+
+    @Test
+    void testBlockedSinkDoesNotDelayOthers() throws InterruptedException {
+        final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        try {
+            final Subscriber stalled = new Subscriber(null, CAPACITY, delivery, event -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, () -> { });
+            final Subscriber healthy = new Subscriber(null, CAPACITY, delivery, event -> received.countDown(),
+                    () -> { });
+
+            stalled.offer(event(0));
+            assertThat(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            healthy.offer(event(0));
+
+            assertThat(received.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            delivery.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStalledWriteClosesSubscriber() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean disconnected = new AtomicBoolean();
+        final Subscriber subscriber = new Subscriber(null, CAPACITY, executor, event -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> {
+            disconnected.set(true);
+            release.countDown();
+        });
+        final long timeoutNanos = TimeUnit.SECONDS.toNanos(1);
+
+        subscriber.offer(event(0));
+        assertThat(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(subscriber.closeIfStalled(System.nanoTime(), timeoutNanos)).isFalse();
+        assertThat(disconnected).isFalse();
+        assertThat(subscriber.closeIfStalled(System.nanoTime() + timeoutNanos, timeoutNanos)).isTrue();
+        assertThat(disconnected).isTrue();
+        assertThat(subscriber.closeIfStalled(System.nanoTime() + timeoutNanos, timeoutNanos)).isFalse();
+    }
+}
@@ -0,0 +1,78 @@
+package hexlet.code.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+    private static final int LIMIT = 10;
+
+    private static List<Long> ids(final List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    private static InvertedIndex createIndex() {
+        final InvertedIndex index = new InvertedIndex();
+        index.put(1, 1, "https://shop.example.com", "Garden tools", "Tools for your garden", "Buy spades");
+        index.put(2, 2, "https://blog.example.org", "Gardening blog", "Notes", "Tools we love in the garden");
+        index.put(3, 0, "https://garden.example.net", null, null, null);
+        return index;
+    }
+
+    @Test
+    void testRanksTitleAboveDescription() {
+        final InvertedIndex index = createIndex();
+
+        assertThat(ids(index.search("tools", LIMIT))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testAllWordsMustMatch() {
+        final InvertedIndex index = createIndex();
+
+        assertThat(ids(index.search("garden spades", LIMIT))).containsExactly(1L);
+        assertThat(index.search("garden unknown", LIMIT)).isEmpty();
+    }
+
+    @Test
+    void testPrefixMatch() {
+        final InvertedIndex index = createIndex();
+
+        assertThat(ids(index.search("gard", LIMIT))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("Garden", LIMIT)).get(0)).isNotEqualTo(2L);
+        assertThat(index.search("https www", LIMIT)).isEmpty();
+    }
+
+    @Test
+    void testNewerVersionReplacesDocument() {
+        final InvertedIndex index = createIndex();
+
+        assertThat(index.put(1, 5, "https://shop.example.com", "Kitchen", null, null)).isTrue();
+        assertThat(index.put(1, 4, "https://shop.example.com", "Stale", null, null)).isFalse();
+
+        assertThat(ids(index.search("tools", LIMIT))).containsExactly(2L);
+        assertThat(ids(index.search("kitchen", LIMIT))).containsExactly(1L);
+        assertThat(index.search("stale", LIMIT)).isEmpty();
+    }
+
+    @Test
+    void testSnapshot(@TempDir final Path directory) throws IOException {
+        final InvertedIndex index = createIndex();
+        final Path snapshot = directory.resolve("search.idx");
+
+        index.writeTo(snapshot);
+        final InvertedIndex restored = new InvertedIndex();
+        restored.readFrom(snapshot);
+
+        assertThat(restored.size()).isEqualTo(index.size());
+        assertThat(restored.getTermCount()).isEqualTo(index.getTermCount());
+        assertThat(restored.getMaxId()).isEqualTo(3);
+        assertThat(restored.getMaxVersion()).isEqualTo(2);
+        assertThat(restored.search("garden tools", LIMIT)).isEqualTo(index.search("garden tools", LIMIT));
+    }
+}
@@ -0,0 +1,44 @@
+package hexlet.code.index;
+
+import hexlet.code.checks.CheckTexts;
+import hexlet.code.domain.Url;
+import hexlet.code.domain.UrlCheck;
+import io.ebean.DB;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+    private static final int LIMIT = 10;
+
+    @BeforeAll
+    static void beforeAll() {
+        SearchIndex.rebuild();
+    }
+
+    private static List<Long> search(final String query) {
+        return SearchIndex.search(query, LIMIT).stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    // NOTE: записи сохраняются мимо SearchIndex, как если бы их сделал другой узел.
+    @Test
+    void testRefreshPicksUpWritesOfOtherNodes() {
+        final Url url = new Url("https://quokkarefresh.example.com");
+        url.save();
+
+        assertThat(search("quokkarefresh")).doesNotContain(url.getId());
+        SearchIndex.refresh();
+        assertThat(search("quokkarefresh")).contains(url.getId());
+
+        final UrlCheck urlCheck = new UrlCheck(200, "Wombatrefresh title", null, null, url);
+        CheckTexts.attach(DB.getDefault(), List.of(urlCheck));
+        DB.getDefault().insert(urlCheck);
+
+        assertThat(search("wombatrefresh")).doesNotContain(url.getId());
+        SearchIndex.refresh();
+        assertThat(search("wombatrefresh")).contains(url.getId());
+    }
+}
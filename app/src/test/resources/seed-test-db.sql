@@ -1,4 +1,10 @@
-INSERT INTO url (name, created_at)
-VALUES ('https://github.com', '2023-04-17 01:15:19.13');
-INSERT INTO url_check (url_id, status_code, title, description, h1, created_at)
-VALUES (1, 200, 'en title', 'en description', 'en h1', '2023-04-17 01:15:19.13');
\ No newline at end of file
+INSERT INTO url (name, created_at, last_check_status_code, last_checked_at)
+VALUES ('https://github.com', '2023-04-17 01:15:19.13', 200, '2023-04-17 01:15:19.13');
+INSERT INTO check_text (hash, compressed, content)
+VALUES (LOWER(RAWTOHEX(HASH('SHA-256', STRINGTOUTF8('en title')))), false, STRINGTOUTF8('en title')),
+       (LOWER(RAWTOHEX(HASH('SHA-256', STRINGTOUTF8('en h1')))), false, STRINGTOUTF8('en h1')),
+       (LOWER(RAWTOHEX(HASH('SHA-256', STRINGTOUTF8('en description')))), false, STRINGTOUTF8('en description'));
+INSERT INTO url_check (url_id, status_code, title_text_id, h1_text_id, description_text_id, created_at)
+VALUES (1, 200, (SELECT id FROM check_text WHERE content = STRINGTOUTF8('en title')),
+        (SELECT id FROM check_text WHERE content = STRINGTOUTF8('en h1')),
+        (SELECT id FROM check_text WHERE content = STRINGTOUTF8('en description')), '2023-04-17 01:15:19.13');